@@ -6,7 +6,12 @@ import com.santander.pulse.application.dto.RegisterRequest;
 import com.santander.pulse.domain.User;
 import com.santander.pulse.infrastructure.CustomUserDetailsService;
 import com.santander.pulse.infrastructure.JwtService;
+import com.santander.pulse.infrastructure.LoginThrottle;
+import com.santander.pulse.infrastructure.PasswordHashingRejectedException;
+import com.santander.pulse.infrastructure.TokenRevocationService;
 import com.santander.pulse.infrastructure.UserRepository;
+import com.santander.pulse.infrastructure.VerifiedToken;
+import com.santander.pulse.infrastructure.VerifiedTokenCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +19,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -29,6 +35,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -50,6 +57,9 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginThrottle loginThrottle;
     private final ClientRegistrationRepository clientRegistrationRepository;
     private final String defaultOAuthCallback;
 
@@ -59,6 +69,9 @@ public class AuthController {
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
             CustomUserDetailsService userDetailsService,
+            TokenRevocationService tokenRevocationService,
+            VerifiedTokenCache verifiedTokenCache,
+            LoginThrottle loginThrottle,
             @Nullable ClientRegistrationRepository clientRegistrationRepository,
             @Value("${app.frontend-url:http://localhost:4200}") String frontendUrl,
             @Value("${app.oauth2.callback-path:/oauth2/callback}") String callbackPath
@@ -68,13 +81,22 @@ public class AuthController {
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.loginThrottle = loginThrottle;
         this.clientRegistrationRepository = clientRegistrationRepository;
         this.defaultOAuthCallback = buildDefaultCallbackUri(frontendUrl, callbackPath);
     }
 
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT tokens")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        Duration throttled = loginThrottle.tryAcquire(loginRequest.getCpf(), request.getRemoteAddr());
+        if (!throttled.isZero()) {
+            logger.warn("Login throttled for CPF: {} from {}", loginRequest.getCpf(), request.getRemoteAddr());
+            return tooManyAttempts(throttled);
+        }
+
         try {
             logger.info("Login attempt for CPF: {}", loginRequest.getCpf());
 
@@ -110,7 +132,14 @@ public class AuthController {
             logger.info("CPF {} logged in successfully", loginRequest.getCpf());
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingRejectedException e) {
+            logger.warn("Login rejected for CPF: {} - password hashing pool saturated", loginRequest.getCpf());
+            return hashingUnavailable(e);
         } catch (AuthenticationException e) {
+            if (e.getCause() instanceof PasswordHashingRejectedException rejected) {
+                logger.warn("Login rejected for CPF: {} - password hashing pool saturated", loginRequest.getCpf());
+                return hashingUnavailable(rejected);
+            }
             logger.warn("Login failed for CPF: {} - {}", loginRequest.getCpf(), e.getMessage());
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid credentials");
@@ -121,7 +150,13 @@ public class AuthController {
 
     @PostMapping("/register")
     @Operation(summary = "User registration", description = "Register a new user account")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest, HttpServletRequest request) {
+        Duration throttled = loginThrottle.tryAcquire(registerRequest.getCpf(), request.getRemoteAddr());
+        if (!throttled.isZero()) {
+            logger.warn("Registration throttled for CPF: {} from {}", registerRequest.getCpf(), request.getRemoteAddr());
+            return tooManyAttempts(throttled);
+        }
+
         try {
             logger.info("Registration attempt for CPF: {}", registerRequest.getCpf());
 
@@ -176,6 +211,9 @@ public class AuthController {
             logger.info("User with CPF {} registered successfully", registerRequest.getCpf());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (PasswordHashingRejectedException e) {
+            logger.warn("Registration rejected for CPF: {} - password hashing pool saturated", registerRequest.getCpf());
+            return hashingUnavailable(e);
         } catch (Exception e) {
             logger.error("Registration failed for CPF: {} - {}", 
                         registerRequest.getCpf(), e.getMessage());
@@ -192,10 +230,11 @@ public class AuthController {
         try {
             if (refreshToken != null && refreshToken.startsWith("Bearer ")) {
                 String token = refreshToken.substring(7);
-                String username = jwtService.extractUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                VerifiedToken verifiedToken = jwtService.verify(token);
+                UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.subject());
 
-                if (jwtService.isTokenValid(token, userDetails)) {
+                if (!tokenRevocationService.isRevoked(verifiedToken.tokenId())
+                        && jwtService.isTokenValid(verifiedToken, userDetails)) {
                     String newAccessToken = jwtService.generateToken(userDetails);
                     
                     Map<String, Object> response = new HashMap<>();
@@ -219,6 +258,45 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the access token and, optionally, the refresh token")
+    public ResponseEntity<?> logout(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody(required = false) Map<String, String> body
+    ) {
+        try {
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Invalid token");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            }
+
+            String accessToken = authorization.substring(7);
+            VerifiedToken verifiedAccessToken = jwtService.verify(accessToken);
+            tokenRevocationService.revoke(verifiedAccessToken);
+            verifiedTokenCache.invalidate(accessToken);
+
+            String refreshToken = body != null ? body.get("refreshToken") : null;
+            if (StringUtils.hasText(refreshToken)) {
+                VerifiedToken verifiedRefreshToken = jwtService.verify(refreshToken);
+                if (verifiedAccessToken.subject().equals(verifiedRefreshToken.subject())) {
+                    tokenRevocationService.revoke(verifiedRefreshToken);
+                }
+            }
+
+            logger.info("User {} logged out", verifiedAccessToken.subject());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Logged out successfully");
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.warn("Logout failed: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+    }
+
     @GetMapping("/providers")
     @Operation(summary = "Authentication providers", description = "List available authentication providers")
     public ResponseEntity<Map<String, Object>> getAuthProviders(HttpServletRequest request) {
@@ -243,6 +321,25 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    private ResponseEntity<?> tooManyAttempts(Duration retryAfter) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many attempts");
+        error.put("message", "Too many authentication attempts, please retry later");
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+            .body(error);
+    }
+
+    private ResponseEntity<?> hashingUnavailable(PasswordHashingRejectedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service busy");
+        error.put("message", "Too many authentication requests, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+            .body(error);
+    }
+
     private Optional<ClientRegistration> findGoogleRegistration() {
         if (clientRegistrationRepository == null) {
             return Optional.empty();
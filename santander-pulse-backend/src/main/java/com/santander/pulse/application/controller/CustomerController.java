@@ -1,39 +1,68 @@
 package com.santander.pulse.application.controller;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.santander.pulse.application.dto.CustomerDeletionResponse;
+import com.santander.pulse.application.dto.CustomerListItem;
+import com.santander.pulse.application.dto.CustomerPatchRequest;
 import com.santander.pulse.application.dto.CustomerRequest;
 import com.santander.pulse.application.dto.CustomerResponse;
 import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CpfReservations;
+import com.santander.pulse.infrastructure.CustomerCollectionVersion;
+import com.santander.pulse.infrastructure.CustomerCountCache;
+import com.santander.pulse.infrastructure.CustomerCursor;
+import com.santander.pulse.infrastructure.CustomerExportService;
+import com.santander.pulse.infrastructure.CustomerFileFormat;
+import com.santander.pulse.infrastructure.CustomerFilter;
+import com.santander.pulse.infrastructure.CustomerImportService;
 import com.santander.pulse.infrastructure.CustomerRepository;
+import com.santander.pulse.infrastructure.CustomerSearchIndex;
+import com.santander.pulse.infrastructure.CustomerStatistics;
+import com.santander.pulse.infrastructure.CustomerSuggestionIndex;
+import com.santander.pulse.infrastructure.SearchText;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -48,14 +77,43 @@ public class CustomerController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
 
-    private final CustomerRepository customerRepository;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    // Browsers may keep customer data but must revalidate it (with If-None-Match) before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
-    public CustomerController(CustomerRepository customerRepository) {
+    private final CustomerRepository customerRepository;
+    private final CustomerCountCache customerCountCache;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSuggestionIndex customerSuggestionIndex;
+    private final CustomerExportService customerExportService;
+    private final CustomerImportService customerImportService;
+    private final CpfReservations cpfReservations;
+    private final CustomerCollectionVersion customerCollectionVersion;
+    private final CustomerStatistics customerStatistics;
+
+    public CustomerController(CustomerRepository customerRepository,
+                              CustomerCountCache customerCountCache,
+                              CustomerSearchIndex customerSearchIndex,
+                              CustomerSuggestionIndex customerSuggestionIndex,
+                              CustomerExportService customerExportService,
+                              CustomerImportService customerImportService,
+                              CpfReservations cpfReservations,
+                              CustomerCollectionVersion customerCollectionVersion,
+                              CustomerStatistics customerStatistics) {
         this.customerRepository = customerRepository;
+        this.customerCountCache = customerCountCache;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerSuggestionIndex = customerSuggestionIndex;
+        this.customerExportService = customerExportService;
+        this.customerImportService = customerImportService;
+        this.cpfReservations = cpfReservations;
+        this.customerCollectionVersion = customerCollectionVersion;
+        this.customerStatistics = customerStatistics;
     }
 
     @GetMapping
-    @Operation(summary = "Get all customers", description = "Retrieve all customers with pagination")
+    @Operation(summary = "Get all customers", description = "Retrieve customers with offset pagination (count=exact|cached|none), or keyset pagination when a cursor is given. nome and email match accent- and case-insensitively, anywhere (match=contains) or at the start (match=prefix)")
     public ResponseEntity<Map<String, Object>> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -63,28 +121,141 @@ public class CustomerController {
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) String nome,
             @RequestParam(required = false) String email,
-            @RequestParam(required = false) Customer.CustomerStatus status
+            @RequestParam(required = false) Customer.CustomerStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "contains") String match,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
+        Match matchMode;
+        try {
+            matchMode = Match.valueOf(match.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "match must be one of contains or prefix"));
+        }
+        CustomerFilter filter = CustomerFilter.of(
+            matchMode.pattern(nome),
+            matchMode.pattern(email),
+            shouldShowActiveCustomersOnly(status) ? Customer.CustomerStatus.ATIVO : status
+        );
+
+        if (!CustomerFilter.SORT_KEYS.contains(sortBy)) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "sortBy must be one of nome, createdAt or id"));
+        }
+
+        // Taken before the page query runs, so rows read after a concurrent write can only carry an older tag
+        String pageETag = "\"" + customerCollectionVersion.current() + "\"";
+        if (matchesIfNoneMatch(ifNoneMatch, pageETag)) {
+            return notModified(pageETag);
+        }
+
+        if (cursor != null) {
+            return getCustomersByCursor(cursor, size, sortBy, sortDir, filter, pageETag);
+        }
+
+        TotalCount totalCount;
+        try {
+            totalCount = TotalCount.valueOf(count.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "count must be one of exact, cached or none"));
+        }
+
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                        Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
 
-            Page<Customer> customerPage = shouldShowActiveCustomersOnly(status) 
-                ? customerRepository.findActiveCustomersByCriteria(nome, email, pageable)
-                : customerRepository.findByCriteria(nome, email, status, pageable);
-            
-            List<CustomerResponse> customers = customerPage.getContent()
-                .stream()
-                .map(CustomerResponse::fromEntity)
-                .collect(Collectors.toList());
+            Slice<CustomerListItem> customerPage;
+            Long totalElements;
+            Optional<List<Long>> candidateIds = matchMode == Match.CONTAINS
+                ? customerSearchIndex.candidates(nome, email)
+                : Optional.empty();
+            if (candidateIds.isPresent()) {
+                // Counting within the id list is cheap, so the exact total comes along for free
+                Page<CustomerListItem> indexedPage = candidateIds.get().isEmpty()
+                    ? Page.empty(pageable)
+                    : customerRepository.findByFilter(filter.withIds(candidateIds.get()), pageable);
+                customerPage = indexedPage;
+                totalElements = switch (totalCount) {
+                    case EXACT -> indexedPage.getTotalElements();
+                    case CACHED -> customerCountCache.count(filter);
+                    case NONE -> null;
+                };
+            } else if (totalCount == TotalCount.EXACT) {
+                Page<CustomerListItem> exactPage = customerRepository.findByFilter(filter, pageable);
+                customerPage = exactPage;
+                totalElements = exactPage.getTotalElements();
+            } else {
+                customerPage = customerRepository.findSliceByFilter(filter, pageable);
+                totalElements = totalCount == TotalCount.CACHED
+                    ? customerCountCache.count(filter)
+                    : null;
+            }
 
-            Map<String, Object> response = buildCustomerResponse(customerPage, customers, page);
+            List<CustomerListItem> customers = customerPage.getContent();
+            Map<String, Object> response = buildCustomerResponse(customerPage, customers, totalElements, totalCount);
 
-            logger.info("Retrieved {} customers (page {}/{})", 
-                       customers.size(), page + 1, customerPage.getTotalPages());
+            logger.info("Retrieved {} customers (page {}, total {})", 
+                       customers.size(), page + 1, totalCount.label());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                .eTag(pageETag)
+                .cacheControl(REVALIDATE)
+                .body(response);
+
+        } catch (Exception e) {
+            logger.error("Error retrieving customers: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Unable to retrieve customers"));
+        }
+    }
+
+    /**
+     * Keyset pagination: opt in with cursor= (empty for the first page), then pass back
+     * nextCursor. Sort order is fixed by the first request and carried in the cursor.
+     */
+    private ResponseEntity<Map<String, Object>> getCustomersByCursor(
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDir,
+            CustomerFilter filter,
+            String pageETag
+    ) {
+        CustomerCursor position;
+        try {
+            if (size < 1) {
+                throw new IllegalArgumentException("Page size must be positive");
+            }
+            position = cursor.isBlank()
+                ? CustomerCursor.first(sortBy, sortDir.equalsIgnoreCase("desc"))
+                : CustomerCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid customer cursor request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        try {
+            List<CustomerListItem> rows = customerRepository.findByFilterAfter(filter, position, size + 1);
+
+            boolean hasNext = rows.size() > size;
+            List<CustomerListItem> pageRows = hasNext ? rows.subList(0, size) : rows;
+            CustomerListItem last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("customers", pageRows);
+            response.put("pageSize", size);
+            response.put("hasNext", hasNext);
+            response.put("nextCursor", hasNext ? position.after(last.id(), last.nome()).encode() : null);
+
+            logger.info("Retrieved {} customers by cursor", pageRows.size());
+            return ResponseEntity.ok()
+                .eTag(pageETag)
+                .cacheControl(REVALIDATE)
+                .body(response);
 
         } catch (Exception e) {
             logger.error("Error retrieving customers: {}", e.getMessage());
@@ -103,29 +274,162 @@ public class CustomerController {
 
     /**
      * Clean Code principle: Extract method to reduce complexity and improve readability
+     * totalType tells the client whether totalElements is exact, cached (may lag writes
+     * by the cache TTL) or absent.
      */
-    private Map<String, Object> buildCustomerResponse(Page<Customer> customerPage, 
-                                                     List<CustomerResponse> customers, 
-                                                     int page) {
+    private Map<String, Object> buildCustomerResponse(Slice<CustomerListItem> customerPage, 
+                                                     List<CustomerListItem> customers, 
+                                                     Long totalElements,
+                                                     TotalCount totalCount) {
         Map<String, Object> response = new HashMap<>();
         response.put("customers", customers);
         response.put("currentPage", customerPage.getNumber());
-        response.put("totalElements", customerPage.getTotalElements());
-        response.put("totalPages", customerPage.getTotalPages());
         response.put("pageSize", customerPage.getSize());
+        response.put("hasNext", customerPage.hasNext());
+        response.put("totalType", totalCount.label());
+        if (totalElements != null) {
+            response.put("totalElements", totalElements);
+            response.put("totalPages", customerPage.getSize() == 0 ? 1
+                : (int) Math.ceil((double) totalElements / customerPage.getSize()));
+        }
         return response;
     }
 
+    /**
+     * How nome and email filters match the normalized search columns
+     */
+    private enum Match {
+        CONTAINS, PREFIX;
+
+        String pattern(String term) {
+            return this == PREFIX ? SearchText.prefixPattern(term) : SearchText.containsPattern(term);
+        }
+    }
+
+    /**
+     * How the listing reports its total
+     */
+    private enum TotalCount {
+        EXACT, CACHED, NONE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest customers", description = "Type-ahead over active customers by name word, email local-part or CPF prefix, served from memory")
+    public ResponseEntity<Map<String, Object>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (q.isBlank() || limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "q must not be blank and limit must be between 1 and " + MAX_SUGGESTIONS));
+        }
+
+        List<CustomerSuggestionIndex.Suggestion> suggestions = customerSuggestionIndex.suggest(q, limit);
+        logger.debug("Suggested {} customers", suggestions.size());
+        return ResponseEntity.ok(Map.of("suggestions", suggestions));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export customers", description = "Stream every customer matching the listing filters (nome, email, status, match) in id order, as NDJSON (format=ndjson) or CSV (format=csv)")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Customer.CustomerStatus status,
+            @RequestParam(defaultValue = "contains") String match,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request
+    ) {
+        Match matchMode;
+        CustomerFileFormat exportFormat;
+        try {
+            matchMode = Match.valueOf(match.toUpperCase(Locale.ROOT));
+            exportFormat = CustomerFileFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // Spring only streams a ResponseEntity declared with a StreamingResponseBody body, so errors are streamed too
+            String error = "{\"error\":\"match must be contains or prefix and format must be ndjson or csv\"}";
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(error.getBytes(StandardCharsets.UTF_8)));
+        }
+        CustomerFilter filter = CustomerFilter.of(
+            matchMode.pattern(nome),
+            matchMode.pattern(email),
+            shouldShowActiveCustomersOnly(status) ? Customer.CustomerStatus.ATIVO : status
+        );
+
+        // Runs on an async thread after this method returns; rows are written as they are read.
+        // Only this response gets the long timeout: a large book takes minutes to stream
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+            .setTimeout(customerExportService.timeout().toMillis());
+        StreamingResponseBody body = out -> customerExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers." + exportFormat.extension() + "\"")
+            .body(body);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import customers", description = "Bulk create customers from a CSV (format=csv, with a header naming nome, cpf, email, telefone and optionally status) or NDJSON (format=ndjson) request body. Valid rows are inserted; the response lists rejected rows by line number")
+    public ResponseEntity<Map<String, Object>> importCustomers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body
+    ) {
+        CustomerFileFormat importFormat;
+        try {
+            importFormat = CustomerFileFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "format must be ndjson or csv"));
+        }
+
+        try {
+            CustomerImportService.ImportReport report = customerImportService.importCustomers(body, importFormat);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("imported", report.imported());
+            response.put("rejected", report.rejected());
+            response.put("errors", report.errors());
+            response.put("errorsTruncated", report.errorsTruncated());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid customer import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error importing customers: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Unable to import customers"));
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID", description = "Retrieve a specific customer by ID")
-    public ResponseEntity<?> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<?> getCustomerById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         try {
+            if (ifNoneMatch != null) {
+                // A poll that already holds the current version gets a 304 off the version column alone
+                Optional<Long> version = customerRepository.findVersionById(id);
+                if (version.isPresent() && matchesIfNoneMatch(ifNoneMatch, eTag(version.get()))) {
+                    return notModified(eTag(version.get()));
+                }
+            }
+
             Optional<Customer> customer = customerRepository.findById(id);
             
             if (customer.isPresent()) {
                 CustomerResponse response = CustomerResponse.fromEntity(customer.get());
                 logger.info("Retrieved customer with ID: {}", id);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                    .eTag(eTag(customer.get().getVersion()))
+                    .cacheControl(REVALIDATE)
+                    .body(response);
             } else {
                 logger.warn("Customer not found with ID: {}", id);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -147,38 +451,47 @@ public class CustomerController {
 
             String normalizedCpf = customerRequest.cpf().replaceAll("\\D", "");
 
-            // Check if CPF already exists
-            if (customerRepository.existsByCpf(normalizedCpf)) {
-                logger.warn("CPF already exists: {}", customerRequest.cpf());
+            // No exists checks: the unique constraints decide. A concurrent request for the
+            // same CPF on this node waits for the first one to finish before trying its insert
+            if (!cpfReservations.reserve(normalizedCpf)) {
+                logger.warn("CPF registration still in progress: {}", customerRequest.cpf());
                 return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("error", "CPF already registered"));
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "A registration for this CPF is in progress; try again"));
             }
-
-            // Check if email already exists
-            if (customerRepository.existsByEmail(customerRequest.email())) {
-                logger.warn("Email already exists: {}", customerRequest.email());
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("error", "Email already registered"));
+            try {
+                Customer customer = new Customer(
+                    customerRequest.nome(),
+                    normalizedCpf,
+                    customerRequest.email(),
+                    customerRequest.telefone()
+                );
+
+                // Set status if provided, otherwise defaults to ATIVO
+                if (customerRequest.status() != null) {
+                    customer.setStatus(customerRequest.status());
+                }
+
+                // Flushed here so a constraint violation surfaces from this call
+                Customer savedCustomer = customerRepository.saveAndFlush(customer);
+                CustomerResponse response = CustomerResponse.fromEntity(savedCustomer);
+
+                logger.info("Customer created successfully with ID: {}", savedCustomer.getId());
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            } finally {
+                cpfReservations.release(normalizedCpf);
             }
 
-            Customer customer = new Customer(
-                customerRequest.nome(),
-                normalizedCpf,
-                customerRequest.email(),
-                customerRequest.telefone()
-            );
-            
-            // Set status if provided, otherwise defaults to ATIVO
-            if (customerRequest.status() != null) {
-                customer.setStatus(customerRequest.status());
+        } catch (DataIntegrityViolationException e) {
+            String conflict = uniqueConflict(e);
+            if (conflict == null) {
+                logger.error("Error creating customer: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Unable to create customer"));
             }
-
-            Customer savedCustomer = customerRepository.save(customer);
-            CustomerResponse response = CustomerResponse.fromEntity(savedCustomer);
-
-            logger.info("Customer created successfully with ID: {}", savedCustomer.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
+            logger.warn("{}: {}", conflict, customerRequest.cpf());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", conflict));
         } catch (Exception e) {
             logger.error("Error creating customer: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -186,6 +499,24 @@ public class CustomerController {
         }
     }
 
+    /**
+     * The 409 message for a violated customer unique constraint, or null for any other violation
+     */
+    private static String uniqueConflict(DataIntegrityViolationException e) {
+        String violated = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+            ? violation.getConstraintName()
+            : e.getMostSpecificCause().getMessage();
+        violated = violated != null ? violated.toLowerCase(Locale.ROOT) : "";
+        if (violated.contains(Customer.CPF_CONSTRAINT)) {
+            return "CPF already registered";
+        }
+        if (violated.contains(Customer.EMAIL_CONSTRAINT)) {
+            return "Email already registered";
+        }
+        return null;
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update customer", description = "Update an existing customer")
     public ResponseEntity<?> updateCustomer(
@@ -228,6 +559,10 @@ public class CustomerController {
             logger.info("Customer updated successfully with ID: {}", id);
             return ResponseEntity.ok(response);
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.warn("Customer {} changed during update", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Customer was changed by someone else; reload it and try again"));
         } catch (Exception e) {
             logger.error("Error updating customer {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -235,6 +570,105 @@ public class CustomerController {
         }
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch customer", description = "Update only the supplied fields. Send the ETag from a previous response in If-Match to fail with 412 instead of overwriting someone else's change")
+    public ResponseEntity<?> patchCustomer(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CustomerPatchRequest patch
+    ) {
+        if (patch.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "At least one of nome, email, telefone or status is required"));
+        }
+        boolean conditional = ifMatch != null && !ifMatch.isBlank();
+        Long expectedVersion = conditional && !ifMatch.trim().equals("*") ? ifMatchVersion(ifMatch) : null;
+        if (conditional && !ifMatch.trim().equals("*") && expectedVersion == null) {
+            return preconditionFailed();
+        }
+
+        try {
+            // No read before the write: the UPDATE itself checks existence and the version
+            if (customerRepository.patch(id, expectedVersion, patch) == 0) {
+                if (conditional && customerRepository.existsById(id)) {
+                    logger.warn("Customer {} changed since the client read it", id);
+                    return preconditionFailed();
+                }
+                logger.warn("Customer not found for patch with ID: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Customer not found"));
+            }
+
+            Customer customer = customerRepository.findById(id).orElseThrow();
+            // The bulk UPDATE bypassed CustomerChangeListener, so bring the in-memory indexes up to date here
+            customerSearchIndex.index(customer);
+            customerSuggestionIndex.index(customer);
+
+            logger.info("Customer patched successfully with ID: {}", id);
+            return ResponseEntity.ok()
+                .eTag(eTag(customer.getVersion()))
+                .body(CustomerResponse.fromEntity(customer));
+
+        } catch (DataIntegrityViolationException e) {
+            String conflict = uniqueConflict(e);
+            if (conflict == null) {
+                logger.error("Error patching customer {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Unable to update customer"));
+            }
+            logger.warn("{} during patch of customer {}", conflict, id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", conflict));
+        } catch (Exception e) {
+            logger.error("Error patching customer {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Unable to update customer"));
+        }
+    }
+
+    /**
+     * Strong ETag for a customer version
+     */
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The version named by a single strong If-Match ETag, or null when the header can never
+     * match (weak or foreign tags, or a list)
+     */
+    private static Long ifMatchVersion(String ifMatch) {
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() != 1 || tags.get(0).weak() || !tags.get(0).tag().matches("\\d{1,18}")) {
+            return null;
+        }
+        return Long.valueOf(tags.get(0).tag());
+    }
+
+    /**
+     * Whether If-None-Match names the current ETag; compared weakly, as RFC 9110 specifies for GET
+     */
+    private static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = ETag.create(eTag).tag();
+        return ETag.parse(ifNoneMatch).stream()
+            .anyMatch(tag -> tag.isWildcard() || tag.tag().equals(current));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(eTag)
+            .cacheControl(REVALIDATE)
+            .build();
+    }
+
+    private static ResponseEntity<Map<String, String>> preconditionFailed() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .body(Map.of("error", "Customer was changed by someone else; reload it and try again"));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete customer", description = "Deactivate a customer (soft delete)")
     public ResponseEntity<CustomerDeletionResponse> deleteCustomer(@PathVariable Long id) {
@@ -269,18 +703,12 @@ public class CustomerController {
     @Operation(summary = "Get customer statistics", description = "Get customer statistics dashboard")
     public ResponseEntity<Map<String, Object>> getCustomerStats() {
         try {
-            long totalCustomers = customerRepository.count();
-            long activeCustomers = customerRepository.countByStatus(Customer.CustomerStatus.ATIVO);
-            long inactiveCustomers = customerRepository.countByStatus(Customer.CustomerStatus.INATIVO);
-            
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            List<Customer> recentCustomers = customerRepository.findRecentCustomers(thirtyDaysAgo);
-
+            // Served from in-memory counters; see CustomerStatistics for how they track the table
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalCustomers", totalCustomers);
-            stats.put("activeCustomers", activeCustomers);
-            stats.put("inactiveCustomers", inactiveCustomers);
-            stats.put("recentCustomers", recentCustomers.size());
+            stats.put("totalCustomers", customerStatistics.total());
+            stats.put("activeCustomers", customerStatistics.count(Customer.CustomerStatus.ATIVO));
+            stats.put("inactiveCustomers", customerStatistics.count(Customer.CustomerStatus.INATIVO));
+            stats.put("recentCustomers", customerStatistics.recentSignups());
             stats.put("timestamp", LocalDateTime.now());
 
             logger.info("Retrieved customer statistics");
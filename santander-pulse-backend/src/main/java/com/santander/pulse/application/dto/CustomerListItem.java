@@ -0,0 +1,37 @@
+package com.santander.pulse.application.dto;
+
+import com.santander.pulse.domain.Customer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a customer listing, selected straight from the query so no Customer entity is
+ * loaded. Serializes to the same JSON as CustomerResponse.
+ */
+public record CustomerListItem(
+        Long id,
+        String nome,
+        String cpf,
+        String email,
+        String telefone,
+        Customer.CustomerStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+
+    @Override
+    public String toString() {
+        return "CustomerListItem{" +
+                "id=" + id +
+                ", nome='" + nome + '\'' +
+                ", cpf='" + (cpf != null ? cpf.replaceAll("\\d(?=\\d{4})", "*") : null) + '\'' +
+                ", email='" + email + '\'' +
+                ", telefone='" + telefone + '\'' +
+                ", status='" + status + '\'' +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.santander.pulse.application.dto;
+
+import com.santander.pulse.domain.Customer;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial customer update: null fields are left as they are. CPF cannot be changed.
+ */
+public record CustomerPatchRequest(
+    @Size(min = 2, max = 100, message = "Nome deve ter entre 2 e 100 caracteres")
+    @Pattern(regexp = ".*\\S.*", message = "Nome e obrigatorio")
+    String nome,
+
+    @Email(message = "Email deve ser valido")
+    @Size(max = 100, message = "Email deve ter no maximo 100 caracteres")
+    String email,
+
+    @Pattern(regexp = "\\(?\\d{2}\\)?[\\s-]?\\d{4,5}[\\s-]?\\d{4}", message = "Telefone deve estar no formato (11) 99999-9999")
+    String telefone,
+
+    Customer.CustomerStatus status
+) {
+
+    public boolean isEmpty() {
+        return nome == null && email == null && telefone == null && status == null;
+    }
+}
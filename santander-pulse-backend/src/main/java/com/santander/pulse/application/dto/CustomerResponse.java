@@ -17,6 +17,7 @@ public class CustomerResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Constructors
     public CustomerResponse() {}
@@ -30,6 +31,7 @@ public class CustomerResponse {
         this.status = customer.getStatus().name();
         this.createdAt = customer.getCreatedAt();
         this.updatedAt = customer.getUpdatedAt();
+        this.version = customer.getVersion();
     }
 
     /**
@@ -64,6 +66,9 @@ public class CustomerResponse {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @Override
     public String toString() {
         return "CustomerResponse{" +
@@ -75,6 +80,7 @@ public class CustomerResponse {
                 ", status='" + status + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
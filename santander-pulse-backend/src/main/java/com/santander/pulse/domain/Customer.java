@@ -1,5 +1,7 @@
 package com.santander.pulse.domain;
 
+import com.santander.pulse.infrastructure.AllocatedId;
+import com.santander.pulse.infrastructure.CustomerChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -17,16 +19,31 @@ import java.util.Objects;
  * Implements banking compliance validations for CPF and business rules.
  */
 @Entity
-@Table(name = "customers", indexes = {
-    @Index(name = "idx_customer_cpf", columnList = "cpf"),
-    @Index(name = "idx_customer_email", columnList = "email"),
-    @Index(name = "idx_customer_status", columnList = "status")
+@Table(name = "customers", uniqueConstraints = {
+    // Named so a violation can be told apart and reported as a precise 409
+    @UniqueConstraint(name = Customer.CPF_CONSTRAINT, columnNames = "cpf"),
+    @UniqueConstraint(name = Customer.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+    @Index(name = "idx_customer_status", columnList = "status, id"),
+    @Index(name = "idx_customer_nome_id", columnList = "nome, id"),
+    // One index per listing sort key, in each direction, so pages come off the index in order
+    @Index(name = "idx_customer_status_nome_id", columnList = "status, nome, id"),
+    @Index(name = "idx_customer_status_nome_id_desc", columnList = "status DESC, nome DESC, id DESC"),
+    @Index(name = "idx_customer_status_created_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_customer_status_created_id_desc", columnList = "status DESC, created_at DESC, id DESC"),
+    @Index(name = "idx_customer_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_customer_updated_at", columnList = "updated_at, id"),
+    @Index(name = "idx_customer_nome_search", columnList = "nome_search, id"),
+    @Index(name = "idx_customer_email_search", columnList = "email_search")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CustomerChangeListener.class})
 public class Customer {
 
+    public static final String CPF_CONSTRAINT = "uk_customer_cpf";
+    public static final String EMAIL_CONSTRAINT = "uk_customer_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId
     private Long id;
 
     @NotBlank(message = "Nome \u00e9 obrigat\u00f3rio")
@@ -37,12 +54,12 @@ public class Customer {
     @NotBlank(message = "CPF \u00e9 obrigat\u00f3rio")
     @Pattern(regexp = "\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", 
              message = "CPF deve estar no formato 11111111111 ou 111.111.111-11")
-    @Column(name = "cpf", unique = true, nullable = false, length = 14)
+    @Column(name = "cpf", nullable = false, length = 14)
     private String cpf;
 
     @NotBlank(message = "Email \u00e9 obrigat\u00f3rio")
     @Email(message = "Email deve ser v\u00e1lido")
-    @Column(name = "email", unique = true, nullable = false, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
 
     @NotBlank(message = "Telefone \u00e9 obrigat\u00f3rio")
@@ -55,6 +72,14 @@ public class Customer {
     @Column(name = "status", nullable = false)
     private CustomerStatus status = CustomerStatus.ATIVO;
 
+    // Normalized copies of nome and email that searches match against, kept up to date
+    // by CustomerChangeListener
+    @Column(name = "nome_search", nullable = false, length = 100)
+    private String nomeSearch;
+
+    @Column(name = "email_search", nullable = false, length = 100)
+    private String emailSearch;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -63,6 +88,16 @@ public class Customer {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped on every write; clients send it back in If-Match to detect concurrent edits
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Status as last read from or written to the database, so CustomerChangeListener can tell
+    // a status change apart from other updates
+    @Transient
+    private CustomerStatus persistedStatus;
+
     // Constructors
     public Customer() {}
 
@@ -116,9 +151,25 @@ public class Customer {
     public CustomerStatus getStatus() { return status; }
     public void setStatus(CustomerStatus status) { this.status = status; }
 
+    public String getNomeSearch() { return nomeSearch; }
+    public String getEmailSearch() { return emailSearch; }
+
+    public void updateSearchColumns(String nomeSearch, String emailSearch) {
+        this.nomeSearch = nomeSearch;
+        this.emailSearch = emailSearch;
+    }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
+    public Long getVersion() { return version; }
+
+    public CustomerStatus getPersistedStatus() { return persistedStatus; }
+
+    public void markPersisted() {
+        this.persistedStatus = status;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,73 @@
+package com.santander.pulse.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * JWT revoked before its natural expiration, keyed by the token's jti claim.
+ * Rows are purged once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "subject", nullable = false, length = 100)
+    private String subject;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Constructors
+    protected RevokedToken() {}
+
+    public RevokedToken(String jti, String subject, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.jti = jti;
+        this.subject = subject;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters
+    public String getJti() { return jti; }
+    public String getSubject() { return subject; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RevokedToken that = (RevokedToken) o;
+        return Objects.equals(jti, that.jti);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jti);
+    }
+
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+                "jti='" + jti + '\'' +
+                ", expiresAt=" + expiresAt +
+                ", revokedAt=" + revokedAt +
+                '}';
+    }
+}
@@ -1,6 +1,9 @@
 package com.santander.pulse.domain;
 
+import com.santander.pulse.infrastructure.AllocatedId;
+import com.santander.pulse.infrastructure.UserChangeListener;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -27,11 +30,11 @@ import java.util.Objects;
     @Index(name = "idx_email", columnList = "email"),
     @Index(name = "idx_cpf", columnList = "cpf")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserChangeListener.class})
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId
     private Long id;
 
     @NotBlank(message = "Username is mandatory")
@@ -48,9 +51,10 @@ public class User implements UserDetails {
     @Pattern(regexp = "\\d{11}", message = "CPF must contain exactly 11 digits")
     private String cpf;
 
-    @NotBlank(message = "Password is mandatory")
+    /**
+     * Null for external-identity accounts, which never authenticate with a password
+     */
     @Size(min = 8, message = "Password must be at least 8 characters")
-    @Column(nullable = false)
     private String password;
 
     @NotBlank(message = "Full name is mandatory")
@@ -62,6 +66,13 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "auth_provider", nullable = false, length = 20)
+    private AuthProvider authProvider = AuthProvider.LOCAL;
+
+    @Column(name = "external_subject")
+    private String externalSubject;
+
     @Column(name = "is_enabled", nullable = false)
     private boolean enabled = true;
 
@@ -74,6 +85,12 @@ public class User implements UserDetails {
     @Column(name = "credentials_non_expired", nullable = false)
     private boolean credentialsNonExpired = true;
 
+    /**
+     * Stamp embedded in issued JWTs; bumped whenever role, password or account state changes
+     */
+    @Column(name = "security_version", nullable = false)
+    private long securityVersion = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -140,18 +157,73 @@ public class User implements UserDetails {
     public String getCpf() { return cpf; }
     public void setCpf(String cpf) { this.cpf = cpf; }
 
-    public void setPassword(String password) { this.password = password; }
+    public void setPassword(String password) {
+        if (!Objects.equals(this.password, password)) {
+            bumpSecurityVersion();
+        }
+        this.password = password;
+    }
+
+    /**
+     * Replace the stored hash with a stronger encoding of the same password.
+     * Not a credential change, so issued tokens stay valid.
+     */
+    public void upgradePasswordHash(String encodedPassword) {
+        this.password = encodedPassword;
+    }
 
     public String getFullName() { return fullName; }
     public void setFullName(String fullName) { this.fullName = fullName; }
 
     public Role getRole() { return role; }
-    public void setRole(Role role) { this.role = role; }
+    public void setRole(Role role) {
+        if (this.role != role) {
+            bumpSecurityVersion();
+        }
+        this.role = role;
+    }
 
-    public void setEnabled(boolean enabled) { this.enabled = enabled; }
-    public void setAccountNonExpired(boolean accountNonExpired) { this.accountNonExpired = accountNonExpired; }
-    public void setAccountNonLocked(boolean accountNonLocked) { this.accountNonLocked = accountNonLocked; }
-    public void setCredentialsNonExpired(boolean credentialsNonExpired) { this.credentialsNonExpired = credentialsNonExpired; }
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            bumpSecurityVersion();
+        }
+        this.enabled = enabled;
+    }
+
+    public void setAccountNonExpired(boolean accountNonExpired) {
+        if (this.accountNonExpired != accountNonExpired) {
+            bumpSecurityVersion();
+        }
+        this.accountNonExpired = accountNonExpired;
+    }
+
+    public void setAccountNonLocked(boolean accountNonLocked) {
+        if (this.accountNonLocked != accountNonLocked) {
+            bumpSecurityVersion();
+        }
+        this.accountNonLocked = accountNonLocked;
+    }
+
+    public void setCredentialsNonExpired(boolean credentialsNonExpired) {
+        if (this.credentialsNonExpired != credentialsNonExpired) {
+            bumpSecurityVersion();
+        }
+        this.credentialsNonExpired = credentialsNonExpired;
+    }
+
+    public AuthProvider getAuthProvider() { return authProvider; }
+    public String getExternalSubject() { return externalSubject; }
+
+    @AssertTrue(message = "Password is mandatory")
+    boolean isPasswordPresentForLocalAccount() {
+        return authProvider != AuthProvider.LOCAL || (password != null && !password.isBlank());
+    }
+
+    public long getSecurityVersion() { return securityVersion; }
+
+    private void bumpSecurityVersion() {
+        this.securityVersion++;
+    }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
@@ -182,6 +254,13 @@ public class User implements UserDetails {
                 '}';
     }
 
+    /**
+     * Where the account's identity is verified; only LOCAL accounts have a password
+     */
+    public enum AuthProvider {
+        LOCAL, GOOGLE
+    }
+
     /**
      * User roles enumeration
      */
@@ -0,0 +1,32 @@
+package com.santander.pulse.infrastructure;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator behind {@link AllocatedId}. Hibernate builds it through Spring's bean
+ * container (hibernate.cdi.extensions), so entities draw from the same IdAllocator as the
+ * JDBC bulk writers.
+ */
+public class AllocatedIdGenerator implements BeforeExecutionGenerator {
+
+    private final IdAllocator idAllocator;
+
+    public AllocatedIdGenerator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return idAllocator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
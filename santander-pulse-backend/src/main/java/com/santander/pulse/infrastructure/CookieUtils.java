@@ -3,13 +3,7 @@ package com.santander.pulse.infrastructure;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.util.SerializationUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.Optional;
 
 /**
@@ -59,26 +53,4 @@ public final class CookieUtils {
             }
         }
     }
-
-    public static String serialize(Object object) {
-        byte[] bytes = SerializationUtils.serialize(object);
-        if (bytes == null) {
-            return "";
-        }
-        return Base64.getUrlEncoder().encodeToString(bytes);
-    }
-
-    public static <T> T deserialize(String value, Class<T> clazz) {
-        byte[] decodedBytes = Base64.getUrlDecoder().decode(value.getBytes(StandardCharsets.UTF_8));
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(decodedBytes);
-             ObjectInputStream ois = new ObjectInputStream(bais)) {
-            Object deserialized = ois.readObject();
-            if (clazz.isInstance(deserialized)) {
-                return clazz.cast(deserialized);
-            }
-            throw new IllegalStateException("Failed to deserialize cookie to " + clazz.getSimpleName());
-        } catch (IOException | ClassNotFoundException ex) {
-            throw new IllegalStateException("Failed to deserialize OAuth2 authorization request", ex);
-        }
-    }
 }
\ No newline at end of file
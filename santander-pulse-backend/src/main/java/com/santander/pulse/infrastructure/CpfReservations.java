@@ -0,0 +1,60 @@
+package com.santander.pulse.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPFs with a customer insert in flight on this node.
+ * A second request for the same CPF waits here for the first one to finish instead of
+ * queueing on its row lock, then goes on to the database, where the unique constraint
+ * decides: if the first insert failed or rolled back, the second one still gets the CPF.
+ * ConcurrentHashMap locks per bin, so reservations for different CPFs never contend.
+ * Other nodes are still caught by the constraint alone.
+ */
+@Component
+public class CpfReservations {
+
+    private final ConcurrentHashMap<String, CountDownLatch> inFlight = new ConcurrentHashMap<>();
+    private final long waitNanos;
+
+    public CpfReservations(@Value("${pulse.customer-create.reservation-wait:5s}") Duration wait) {
+        this.waitNanos = wait.toNanos();
+    }
+
+    /**
+     * Reserve the CPF, waiting up to reservation-wait for another request on this node to release it
+     *
+     * @param cpf a normalized (digits only) CPF
+     * @return false if the CPF was still held when the wait ran out
+     */
+    public boolean reserve(String cpf) {
+        long deadline = System.nanoTime() + waitNanos;
+        CountDownLatch mine = new CountDownLatch(1);
+        while (true) {
+            CountDownLatch holder = inFlight.putIfAbsent(cpf, mine);
+            if (holder == null) {
+                return true;
+            }
+            try {
+                if (!holder.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    public void release(String cpf) {
+        CountDownLatch holder = inFlight.remove(cpf);
+        if (holder != null) {
+            holder.countDown();
+        }
+    }
+}
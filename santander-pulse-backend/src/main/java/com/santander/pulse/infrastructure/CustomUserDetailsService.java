@@ -4,33 +4,43 @@ import com.santander.pulse.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Custom UserDetailsService for loading user details from database.
  * Implements banking-specific user loading and validation.
+ * Lookups go through UserLookupCache; repository calls run in their own read-only
+ * transactions so cache hits never acquire a connection.
+ * Also re-encodes password hashes on login when the configured algorithm or cost has moved on.
  */
 @Service
-@Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
-    
+    private static final List<UserLookupCache.Key> LOGIN_KEYS =
+            List.of(UserLookupCache.Key.CPF, UserLookupCache.Key.USERNAME);
+    private static final List<UserLookupCache.Key> EMAIL_KEYS = List.of(UserLookupCache.Key.EMAIL);
+
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserLookupCache userLookupCache) {
         this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username: {}", username);
         
-    User user = userRepository.findByCpf(username)
-        .or(() -> userRepository.findByUsername(username))
+        User user = userLookupCache.find(LOGIN_KEYS, username, () -> userRepository.findByCpf(username)
+                        .or(() -> userRepository.findByUsername(username)))
                 .orElseThrow(() -> {
                     logger.warn("User not found: {}", username);
                     return new UsernameNotFoundException("User not found: " + username);
@@ -46,7 +56,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
         logger.debug("Loading user by email: {}", email);
         
-        User user = userRepository.findByEmail(email)
+        User user = userLookupCache.find(EMAIL_KEYS, email, () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> {
                     logger.warn("User not found by email: {}", email);
                     return new UsernameNotFoundException("User not found with email: " + email);
@@ -55,4 +65,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         logger.debug("User loaded by email successfully: {}", email);
         return user;
     }
-}
\ No newline at end of file
+
+    /**
+     * Store a re-encoded hash after a successful login (hash upgrade)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User principal = (User) userDetails;
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal.getUsername()));
+
+        user.upgradePasswordHash(newPassword);
+        User saved = userRepository.save(user);
+        logger.info("Password hash upgraded for user: {}", saved.getUsername());
+        return saved;
+    }
+}
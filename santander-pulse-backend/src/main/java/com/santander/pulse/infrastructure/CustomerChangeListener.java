@@ -0,0 +1,71 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.Customer;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that derives the normalized search columns on every write and keeps
+ * in-memory customer state in sync with the customers table.
+ * Instantiated through Spring's bean container so it can hold collaborators.
+ */
+@Component
+public class CustomerChangeListener {
+
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSuggestionIndex customerSuggestionIndex;
+    private final CustomerStatistics customerStatistics;
+
+    public CustomerChangeListener(CustomerSearchIndex customerSearchIndex,
+                                  CustomerSuggestionIndex customerSuggestionIndex,
+                                  CustomerStatistics customerStatistics) {
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerSuggestionIndex = customerSuggestionIndex;
+        this.customerStatistics = customerStatistics;
+    }
+
+    @PostLoad
+    public void onLoad(Customer customer) {
+        customer.markPersisted();
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void onBeforeWrite(Customer customer) {
+        customer.updateSearchColumns(SearchText.normalize(customer.getNome()), SearchText.normalize(customer.getEmail()));
+    }
+
+    @PostPersist
+    public void onCreate(Customer customer) {
+        customerStatistics.created(customer.getStatus(), customer.getCreatedAt());
+        onWrite(customer);
+    }
+
+    @PostUpdate
+    public void onUpdate(Customer customer) {
+        if (customer.getPersistedStatus() != null) {
+            customerStatistics.statusChanged(customer.getPersistedStatus(), customer.getStatus());
+        }
+        onWrite(customer);
+    }
+
+    @PostRemove
+    public void onRemove(Customer customer) {
+        Customer.CustomerStatus status = customer.getPersistedStatus() != null
+            ? customer.getPersistedStatus() : customer.getStatus();
+        customerStatistics.removed(status, customer.getCreatedAt());
+        customerSearchIndex.remove(customer);
+        customerSuggestionIndex.remove(customer);
+    }
+
+    private void onWrite(Customer customer) {
+        customer.markPersisted();
+        customerSearchIndex.index(customer);
+        customerSuggestionIndex.index(customer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.santander.pulse.infrastructure;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version of the customer book as a whole, used as the ETag of listing pages so a poll
+ * that changes nothing is answered without running the page query.
+ *
+ * It is read from the customers table on every call, as the row count and the latest
+ * updated_at, so writes made through any node, the bulk import or direct SQL all change
+ * it: an insert or update moves updated_at, a delete moves the count. A single indexed
+ * aggregate stands in for the page query and its count. Writers outside the application
+ * must set updated_at, as every write path here does.
+ */
+@Component
+public class CustomerCollectionVersion {
+
+    private final CustomerRepository customerRepository;
+
+    public CustomerCollectionVersion(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public String current() {
+        CustomerRepository.CollectionState state = customerRepository.findCollectionState();
+        LocalDateTime lastUpdatedAt = state.getLastUpdatedAt();
+        long micros = lastUpdatedAt == null ? 0
+            : ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), lastUpdatedAt);
+        return state.getTotal() + "-" + micros;
+    }
+}
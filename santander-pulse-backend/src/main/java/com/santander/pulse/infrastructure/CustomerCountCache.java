@@ -0,0 +1,45 @@
+package com.santander.pulse.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of customer listing totals, keyed by the normalized filter.
+ * Lets paging through one result set run its COUNT once per TTL instead of once per page;
+ * totals served from here may lag recent writes by up to the TTL.
+ */
+@Component
+public class CustomerCountCache {
+
+    private final CustomerRepository customerRepository;
+    private final Cache<CustomerFilter, Long> counts;
+
+    public CustomerCountCache(
+            CustomerRepository customerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${pulse.customer-count-cache.max-entries:1000}") long maxEntries,
+            @Value("${pulse.customer-count-cache.ttl:30s}") Duration ttl
+    ) {
+        this.customerRepository = customerRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "customers.counts");
+    }
+
+    /**
+     * Total for the listing filter. Its patterns are already normalized, so terms that
+     * differ only in case or accents share one entry.
+     */
+    public long count(CustomerFilter filter) {
+        return counts.get(filter, customerRepository::countByFilter);
+    }
+}
@@ -0,0 +1,73 @@
+package com.santander.pulse.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position in a keyset-paginated customer listing.
+ * Holds the sort key and id of the last row returned; the next page seeks past
+ * (lastValue, lastId) instead of skipping an OFFSET. A null lastId marks the first page.
+ * Clients only ever see the opaque {@link #encode()} form.
+ */
+public record CustomerCursor(String sortBy, boolean descending, String lastValue, Long lastId) {
+
+    /**
+     * Sort keys that can be used for keyset pagination
+     */
+    public static final Set<String> SORT_FIELDS = Set.of("nome", "id");
+
+    private static final String SEPARATOR = ":";
+
+    public CustomerCursor {
+        if (!SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by " + SORT_FIELDS);
+        }
+        if (lastId != null && "nome".equals(sortBy) && lastValue == null) {
+            throw new IllegalArgumentException("Cursor is missing its sort key");
+        }
+    }
+
+    public static CustomerCursor first(String sortBy, boolean descending) {
+        return new CustomerCursor(sortBy, descending, null, null);
+    }
+
+    /**
+     * Cursor for the page that follows the given row
+     */
+    public CustomerCursor after(Long lastId, String lastNome) {
+        String value = "nome".equals(sortBy) ? lastNome : null;
+        return new CustomerCursor(sortBy, descending, value, lastId);
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sortBy,
+                descending ? "d" : "a",
+                String.valueOf(lastId),
+                lastValue != null ? lastValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor produced by {@link #encode()}
+     *
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public static CustomerCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4 || !(parts[1].equals("a") || parts[1].equals("d"))) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new CustomerCursor(parts[0], parts[1].equals("d"), parts[3], Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
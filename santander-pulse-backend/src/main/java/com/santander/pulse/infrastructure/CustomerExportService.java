@@ -0,0 +1,120 @@
+package com.santander.pulse.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.santander.pulse.application.dto.CustomerListItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole customer book, or the part matching a listing filter, to a stream.
+ * Rows come off a forward-only cursor and are written as they arrive, so memory use does
+ * not depend on how many customers match; nothing is collected and no entity is loaded.
+ */
+@Service
+public class CustomerExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerExportService.class);
+
+    private static final String CSV_HEADER = "id,nome,cpf,email,telefone,status,createdAt,updatedAt,version";
+
+    private final CustomerRepository customerRepository;
+    private final ObjectWriter jsonWriter;
+    private final int fetchSize;
+    private final Duration timeout;
+
+    public CustomerExportService(
+            CustomerRepository customerRepository,
+            ObjectMapper objectMapper,
+            @Value("${pulse.customer-export.fetch-size:1000}") int fetchSize,
+            @Value("${pulse.customer-export.timeout:30m}") Duration timeout
+    ) {
+        this.customerRepository = customerRepository;
+        this.jsonWriter = objectMapper.writerFor(CustomerListItem.class);
+        this.fetchSize = fetchSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * How long an export response may stream before the async request times out
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * Write every customer matching the filter, in id order
+     *
+     * @return the number of customers written
+     */
+    @Transactional(readOnly = true)
+    public long export(CustomerFilter filter, CustomerFileFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == CustomerFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<CustomerListItem> customers = customerRepository.streamByFilter(filter, fetchSize)) {
+            for (CustomerListItem customer : (Iterable<CustomerListItem>) customers::iterator) {
+                if (format == CustomerFileFormat.CSV) {
+                    writeCsv(writer, customer);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(customer));
+                }
+                writer.write('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+
+        logger.info("Exported {} customers as {}", rows, format.extension());
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, CustomerListItem customer) throws IOException {
+        writer.write(String.valueOf(customer.id()));
+        writer.write(',');
+        writer.write(csv(customer.nome()));
+        writer.write(',');
+        writer.write(csv(customer.cpf()));
+        writer.write(',');
+        writer.write(csv(customer.email()));
+        writer.write(',');
+        writer.write(csv(customer.telefone()));
+        writer.write(',');
+        writer.write(customer.status().name());
+        writer.write(',');
+        writer.write(customer.createdAt() != null ? customer.createdAt().toString() : "");
+        writer.write(',');
+        writer.write(customer.updatedAt() != null ? customer.updatedAt().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(customer.version()));
+    }
+
+    /**
+     * RFC 4180 quoting: fields with a comma, quote or line break are quoted and quotes doubled
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,35 @@
+package com.santander.pulse.infrastructure;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.santander.pulse.domain.Customer;
+
+/**
+ * Criteria for customer listings; a null component is simply not filtered on.
+ * nomePattern and emailPattern are LIKE patterns over the normalized search columns,
+ * built with SearchText.containsPattern or prefixPattern.
+ */
+public record CustomerFilter(
+        String nomePattern,
+        String emailPattern,
+        Customer.CustomerStatus status,
+        Collection<Long> ids
+) {
+
+    /**
+     * Sort keys for customer listings; each is backed by a (status, key, id) index
+     */
+    public static final Set<String> SORT_KEYS = Set.of("nome", "createdAt", "id");
+
+    public static CustomerFilter of(String nomePattern, String emailPattern, Customer.CustomerStatus status) {
+        return new CustomerFilter(nomePattern, emailPattern, status, null);
+    }
+
+    /**
+     * The same criteria restricted to the given ids, e.g. candidates from the search index
+     */
+    public CustomerFilter withIds(Collection<Long> ids) {
+        return new CustomerFilter(nomePattern, emailPattern, status, ids);
+    }
+}
@@ -0,0 +1,159 @@
+package com.santander.pulse.infrastructure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.Query;
+
+/**
+ * Turns a CustomerFilter into JPQL containing only the predicates that are present, so the
+ * database plans each combination on its own instead of one "(:x IS NULL OR ...)" shape
+ * for the worst case. The text for each shape (which predicates, which query kind, which
+ * order) is built once and cached, which also keeps Hibernate's plan cache keyed on a
+ * small set of strings.
+ */
+class CustomerFilterCompiler {
+
+    private static final int NOME = 1;
+    private static final int EMAIL = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int IDS = 1 << 3;
+
+    /**
+     * Listing rows are built by the query itself; no entity is loaded or snapshotted
+     */
+    private static final String SELECT_ITEMS =
+        "SELECT new com.santander.pulse.application.dto.CustomerListItem(" +
+        "c.id, c.nome, c.cpf, c.email, c.telefone, c.status, c.createdAt, c.updatedAt, c.version) FROM Customer c";
+
+    private final Map<Shape, String> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Page query ordered by the given sort
+     *
+     * @throws IllegalArgumentException if a sort property is not one of CustomerFilter.SORT_KEYS
+     */
+    String select(CustomerFilter filter, Sort sort) {
+        // Checked before the shape is cached, so client input cannot grow the cache
+        for (Sort.Order order : sort) {
+            if (!CustomerFilter.SORT_KEYS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Customers can be sorted by " + CustomerFilter.SORT_KEYS);
+            }
+        }
+        return shapes.computeIfAbsent(new Shape(Kind.SELECT, signature(filter), sort, null), shape -> {
+            StringBuilder jpql = new StringBuilder(SELECT_ITEMS).append(where(shape.predicates()));
+            if (sort.isSorted()) {
+                jpql.append(orderBy(shape.predicates(), sort));
+            }
+            return jpql.toString();
+        });
+    }
+
+    String count(CustomerFilter filter) {
+        return shapes.computeIfAbsent(new Shape(Kind.COUNT, signature(filter), Sort.unsorted(), null),
+            shape -> "SELECT COUNT(c) FROM Customer c" + where(shape.predicates()));
+    }
+
+    /**
+     * Keyset query: the rows after the cursor position, seeking on (sort key, id)
+     */
+    String seek(CustomerFilter filter, CustomerCursor cursor) {
+        String position = cursor.sortBy() + (cursor.descending() ? ":d" : ":a") + (cursor.isFirstPage() ? ":first" : "");
+        return shapes.computeIfAbsent(new Shape(Kind.SEEK, signature(filter), Sort.unsorted(), position), shape -> {
+            String comparison = cursor.descending() ? "<" : ">";
+            boolean byNome = "nome".equals(cursor.sortBy());
+
+            StringBuilder jpql = new StringBuilder(SELECT_ITEMS).append(where(shape.predicates()));
+            if (!cursor.isFirstPage()) {
+                jpql.append(shape.predicates() == 0 ? " WHERE " : " AND ");
+                jpql.append(byNome
+                    ? "(c.nome, c.id) " + comparison + " (:lastValue, :lastId)"
+                    : "c.id " + comparison + " :lastId");
+            }
+            Sort.Direction direction = cursor.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+            jpql.append(orderBy(shape.predicates(), Sort.by(direction, cursor.sortBy())));
+            return jpql.toString();
+        });
+    }
+
+    /**
+     * Bind the filter values for whichever predicates the shape contains
+     */
+    static void bind(Query query, CustomerFilter filter) {
+        if (filter.nomePattern() != null) {
+            query.setParameter("nome", filter.nomePattern());
+        }
+        if (filter.emailPattern() != null) {
+            query.setParameter("email", filter.emailPattern());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        if (filter.ids() != null) {
+            query.setParameter("ids", filter.ids());
+        }
+    }
+
+    int cachedShapes() {
+        return shapes.size();
+    }
+
+    private static int signature(CustomerFilter filter) {
+        return (filter.nomePattern() != null ? NOME : 0)
+            | (filter.emailPattern() != null ? EMAIL : 0)
+            | (filter.status() != null ? STATUS : 0)
+            | (filter.ids() != null ? IDS : 0);
+    }
+
+    private static String where(int predicates) {
+        StringBuilder where = new StringBuilder();
+        appendIf(where, predicates, STATUS, "c.status = :status");
+        appendIf(where, predicates, NOME, "c.nomeSearch LIKE :nome");
+        appendIf(where, predicates, EMAIL, "c.emailSearch LIKE :email");
+        appendIf(where, predicates, IDS, "c.id IN :ids");
+        return where.toString();
+    }
+
+    /**
+     * ORDER BY the sort columns with id as tie-breaker. A filtered status is an equality, so
+     * leading with it changes nothing in the result but lets the planner walk the
+     * (status, key, id) index in order instead of sorting; H2 only recognises an index as
+     * sorted when the ORDER BY starts with its leading columns.
+     */
+    private static String orderBy(int predicates, Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        if ((predicates & STATUS) != 0) {
+            orderBy.append("c.status").append(direction(orders.get(0))).append(", ");
+        }
+        String separator = "";
+        for (Sort.Order order : orders) {
+            orderBy.append(separator).append("c.").append(order.getProperty()).append(direction(order));
+            separator = ", ";
+        }
+        if (sort.getOrderFor("id") == null) {
+            orderBy.append(", c.id").append(direction(orders.get(orders.size() - 1)));
+        }
+        return orderBy.toString();
+    }
+
+    private static String direction(Sort.Order order) {
+        return order.isDescending() ? " DESC" : " ASC";
+    }
+
+    private static void appendIf(StringBuilder where, int predicates, int predicate, String jpql) {
+        if ((predicates & predicate) != 0) {
+            where.append(where.isEmpty() ? " WHERE " : " AND ").append(jpql);
+        }
+    }
+
+    private enum Kind {
+        SELECT, COUNT, SEEK
+    }
+
+    private record Shape(Kind kind, int predicates, Sort sort, String position) {
+    }
+}
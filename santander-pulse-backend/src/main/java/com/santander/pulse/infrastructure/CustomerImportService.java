@@ -0,0 +1,474 @@
+package com.santander.pulse.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk customer import from a streamed CSV or NDJSON upload.
+ * The upload is read in chunks of batch-size rows. Each chunk is validated in parallel,
+ * checked against the book with one IN query per unique column, and written with a single
+ * multi-row INSERT in its own transaction, so memory stays bounded by the chunk and a failure
+ * only loses the chunk in flight. Rows that fail are reported by line number.
+ */
+@Service
+public class CustomerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportService.class);
+
+    private static final Pattern CPF_FORMAT = Pattern.compile("\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+
+    private static final String INSERT =
+        "INSERT INTO customers (id, nome, cpf, email, telefone, status, nome_search, email_search, created_at, updated_at, version) VALUES ";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Whole-chunk inserts tried before a chunk that keeps colliding is settled row by row
+    private static final int CHUNK_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdAllocator idAllocator;
+    private final BankingValidator bankingValidator;
+    private final ObjectMapper objectMapper;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSuggestionIndex customerSuggestionIndex;
+    private final CustomerStatistics customerStatistics;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final String fullChunkInsert;
+
+    public CustomerImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            IdAllocator idAllocator,
+            BankingValidator bankingValidator,
+            ObjectMapper objectMapper,
+            CustomerSearchIndex customerSearchIndex,
+            CustomerSuggestionIndex customerSuggestionIndex,
+            CustomerStatistics customerStatistics,
+            @Value("${pulse.customer-import.batch-size:1000}") int batchSize,
+            @Value("${pulse.customer-import.max-reported-errors:1000}") int maxReportedErrors
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.bankingValidator = bankingValidator;
+        this.objectMapper = objectMapper;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerSuggestionIndex = customerSuggestionIndex;
+        this.customerStatistics = customerStatistics;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.fullChunkInsert = insertSql(batchSize);
+    }
+
+    /**
+     * Import every row of the upload. CSV needs a header naming at least nome, cpf, email
+     * and telefone; other columns (an export's id or createdAt) are ignored. status is
+     * optional and defaults to ATIVO.
+     *
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    public ImportReport importCustomers(InputStream upload, CustomerFileFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(upload, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = format == CustomerFileFormat.CSV ? readHeader(reader) : null;
+        long lineNumber = format == CustomerFileFormat.CSV ? 1 : 0;
+
+        ImportReport report = new ImportReport(maxReportedErrors);
+        List<RawRow> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                chunk.add(new RawRow(lineNumber, line));
+            }
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, format, columns, report);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, format, columns, report);
+        }
+
+        logger.info("Imported {} customers, rejected {}", report.imported(), report.rejected());
+        return report;
+    }
+
+    private void importChunk(List<RawRow> chunk, CustomerFileFormat format, Map<String, Integer> columns,
+                             ImportReport report) {
+        List<Object> parsed = chunk.parallelStream()
+            .map(row -> validate(row, format, columns))
+            .toList();
+
+        List<ValidRow> candidates = new ArrayList<>(parsed.size());
+        Set<String> chunkCpfs = new HashSet<>();
+        Set<String> chunkEmails = new HashSet<>();
+        for (Object result : parsed) {
+            if (result instanceof RowError error) {
+                report.reject(error);
+            } else if (result instanceof ValidRow row) {
+                // Repeats across chunks are caught by the database check, since earlier chunks are committed
+                if (!chunkCpfs.add(row.cpf())) {
+                    report.reject(new RowError(row.line(), "CPF appears earlier in the file"));
+                } else if (!chunkEmails.add(row.email())) {
+                    report.reject(new RowError(row.line(), "Email appears earlier in the file"));
+                } else {
+                    candidates.add(row);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<InsertedRow> insertedRows = insertChunk(candidates, report);
+
+        // The entity listener never sees these rows, so feed the in-memory indexes once they are committed
+        for (InsertedRow inserted : insertedRows) {
+            ValidRow row = inserted.row();
+            customerStatistics.created(row.status(), inserted.createdAt());
+            customerSearchIndex.index(inserted.id(), inserted.nomeSearch(), inserted.emailSearch());
+            customerSuggestionIndex.put(inserted.id(), row.nome(), row.cpf(), row.email(),
+                row.status() == Customer.CustomerStatus.ATIVO);
+        }
+        report.accept(insertedRows.size());
+    }
+
+    /**
+     * Insert a chunk, checking again whenever a customer created concurrently between the check
+     * and the insert trips a unique constraint. A chunk that keeps colliding falls back to one
+     * transaction per row, so only the rows that really conflict are rejected.
+     */
+    private List<InsertedRow> insertChunk(List<ValidRow> candidates, ImportReport report) {
+        for (int attempt = 0; attempt < CHUNK_ATTEMPTS; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertNew(candidates, report));
+            } catch (DuplicateKeyException e) {
+                logger.debug("Import chunk collided with a concurrent write on attempt {}", attempt + 1);
+            }
+        }
+
+        List<InsertedRow> inserted = new ArrayList<>(candidates.size());
+        for (ValidRow row : candidates) {
+            try {
+                inserted.addAll(transactionTemplate.execute(status -> insertNew(List.of(row), report)));
+            } catch (DuplicateKeyException e) {
+                report.reject(new RowError(row.line(), "Conflicts with a customer created concurrently"));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Drop rows whose CPF or email is already in the book, then insert the rest in one statement
+     */
+    private List<InsertedRow> insertNew(List<ValidRow> candidates, ImportReport report) {
+        Set<String> existingCpfs = existingCpfs(candidates.stream().map(ValidRow::cpf).toList());
+        Set<String> existingEmails = existing("email", candidates.stream().map(ValidRow::email).toList());
+
+        List<RowError> conflicts = new ArrayList<>();
+        List<ValidRow> rows = new ArrayList<>(candidates.size());
+        for (ValidRow row : candidates) {
+            if (existingCpfs.contains(row.cpf())) {
+                conflicts.add(new RowError(row.line(), "CPF already registered"));
+            } else if (existingEmails.contains(row.email())) {
+                conflicts.add(new RowError(row.line(), "Email already registered"));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        List<InsertedRow> inserted = new ArrayList<>(rows.size());
+        if (!rows.isEmpty()) {
+            String[] nomeSearch = new String[rows.size()];
+            String[] emailSearch = new String[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                nomeSearch[i] = SearchText.normalize(rows.get(i).nome());
+                emailSearch[i] = SearchText.normalize(rows.get(i).email());
+            }
+
+            long[] ids = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                ids[i] = idAllocator.nextId();
+            }
+
+            LocalDateTime createdAt = LocalDateTime.now();
+            Timestamp now = Timestamp.valueOf(createdAt);
+            // One multi-row INSERT per chunk rather than a JDBC batch: the statement is parsed and executed once
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    rows.size() == batchSize ? fullChunkInsert : insertSql(rows.size()));
+                int parameter = 1;
+                for (int i = 0; i < rows.size(); i++) {
+                    ValidRow row = rows.get(i);
+                    statement.setLong(parameter++, ids[i]);
+                    statement.setString(parameter++, row.nome());
+                    statement.setString(parameter++, row.cpf());
+                    statement.setString(parameter++, row.email());
+                    statement.setString(parameter++, row.telefone());
+                    statement.setString(parameter++, row.status().name());
+                    statement.setString(parameter++, nomeSearch[i]);
+                    statement.setString(parameter++, emailSearch[i]);
+                    statement.setTimestamp(parameter++, now);
+                    statement.setTimestamp(parameter++, now);
+                }
+                return statement;
+            });
+
+            for (int i = 0; i < rows.size(); i++) {
+                inserted.add(new InsertedRow(ids[i], rows.get(i), nomeSearch[i], emailSearch[i], createdAt));
+            }
+        }
+
+        // Reported from inside the transaction callback, which a DuplicateKeyException leaves before this point
+        conflicts.forEach(report::reject);
+        return inserted;
+    }
+
+    /**
+     * The multi-row INSERT for a chunk; full chunks share one statement text so the driver can cache its plan
+     */
+    private static String insertSql(int rows) {
+        return INSERT + String.join(", ", Collections.nCopies(rows, INSERT_ROW));
+    }
+
+    private Set<String> existing(String column, List<String> values) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+            "SELECT " + column + " FROM customers WHERE " + column + " IN (:values)",
+            Map.of("values", values), String.class));
+    }
+
+    /**
+     * Digits of the given CPFs already in the table. Every write path here stores digits, but a
+     * row written outside the application may hold the ddd.ddd.ddd-dd form, which the unique
+     * constraint does not tie to the digits, so both forms are looked up.
+     */
+    private Set<String> existingCpfs(List<String> cpfs) {
+        List<String> forms = new ArrayList<>(cpfs.size() * 2);
+        for (String cpf : cpfs) {
+            forms.add(cpf);
+            forms.add(cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "." + cpf.substring(6, 9) + "-" + cpf.substring(9));
+        }
+        Set<String> existing = new HashSet<>();
+        for (String cpf : existing("cpf", forms)) {
+            existing.add(bankingValidator.cleanDocument(cpf));
+        }
+        return existing;
+    }
+
+    /**
+     * Parse and validate one row; returns a ValidRow or a RowError
+     */
+    private Object validate(RawRow raw, CustomerFileFormat format, Map<String, Integer> columns) {
+        Map<String, String> fields;
+        try {
+            fields = format == CustomerFileFormat.CSV ? csvFields(raw.text(), columns) : jsonFields(raw.text());
+        } catch (IllegalArgumentException e) {
+            return new RowError(raw.line(), e.getMessage());
+        }
+
+        String nome = fields.get("nome");
+        String cpf = fields.get("cpf");
+        String email = fields.get("email");
+        String telefone = fields.get("telefone");
+        String status = fields.get("status");
+
+        if (nome == null || nome.isBlank() || nome.length() < 2 || nome.length() > 100) {
+            return new RowError(raw.line(), "Nome must have between 2 and 100 characters");
+        }
+        if (cpf == null || !CPF_FORMAT.matcher(cpf).matches() || !bankingValidator.isValidCPF(cpf)) {
+            return new RowError(raw.line(), "Invalid CPF");
+        }
+        if (!bankingValidator.isValidEmail(email) || email.indexOf('@') != email.lastIndexOf('@')) {
+            return new RowError(raw.line(), "Invalid email");
+        }
+        if (!bankingValidator.isValidPhone(telefone)) {
+            return new RowError(raw.line(), "Invalid telefone");
+        }
+        Customer.CustomerStatus customerStatus = Customer.CustomerStatus.ATIVO;
+        if (status != null && !status.isBlank()) {
+            try {
+                customerStatus = Customer.CustomerStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return new RowError(raw.line(), "Invalid status");
+            }
+        }
+        return new ValidRow(raw.line(), nome, bankingValidator.cleanDocument(cpf), email, telefone, customerStatus);
+    }
+
+    private Map<String, String> jsonFields(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (String name : new String[] {"nome", "cpf", "email", "telefone", "status"}) {
+            JsonNode value = node.get(name);
+            if (value != null && !value.isNull()) {
+                fields.put(name, value.asText());
+            }
+        }
+        return fields;
+    }
+
+    private static Map<String, String> csvFields(String line, Map<String, Integer> columns) {
+        List<String> values = parseCsvLine(line);
+        Map<String, String> fields = new HashMap<>();
+        columns.forEach((name, index) -> {
+            if (index < values.size()) {
+                fields.put(name, values.get(index));
+            }
+        });
+        return fields;
+    }
+
+    private static Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (Set.of("nome", "cpf", "email", "telefone", "status").contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.keySet().containsAll(Set.of("nome", "cpf", "email", "telefone"))) {
+            throw new IllegalArgumentException("CSV header must name the nome, cpf, email and telefone columns");
+        }
+        return columns;
+    }
+
+    /**
+     * RFC 4180 fields on one line: quoted fields may hold commas and doubled quotes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    public record RowError(long line, String error) {
+    }
+
+    /**
+     * Outcome of an import; errors holds the first max-reported-errors rejections. Chunks are
+     * reported in file order, and within a chunk the validation errors come first, in line
+     * order, followed by the rows that conflicted with the database.
+     */
+    public static final class ImportReport {
+
+        private final int maxReportedErrors;
+        private final List<RowError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void accept(int rows) {
+            imported += rows;
+        }
+
+        void reject(RowError error) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+
+        public long imported() {
+            return imported;
+        }
+
+        public long rejected() {
+            return rejected;
+        }
+
+        public List<RowError> errors() {
+            return errors;
+        }
+
+        public boolean errorsTruncated() {
+            return rejected > errors.size();
+        }
+    }
+
+    private record RawRow(long line, String text) {
+    }
+
+    private record ValidRow(long line, String nome, String cpf, String email, String telefone,
+                            Customer.CustomerStatus status) {
+    }
+
+    private record InsertedRow(long id, ValidRow row, String nomeSearch, String emailSearch, LocalDateTime createdAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.santander.pulse.infrastructure;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -18,7 +19,7 @@ import com.santander.pulse.domain.Customer;
  * Implements banking-specific query methods and validations.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
     /**
      * Find customer by CPF
@@ -40,6 +41,12 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Current version of a customer, read without loading the entity
+     */
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
     /**
      * Find customers by status
      */
@@ -78,36 +85,78 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     long countByStatus(@Param("status") Customer.CustomerStatus status);
 
     /**
-     * Find customers by multiple criteria
+     * Searchable columns in id order, in batches, for loading the search index
      */
-    @Query("SELECT c FROM Customer c WHERE " +
-           "(:nome IS NULL OR LOWER(c.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) AND " +
-           "(:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-           "(:status IS NULL OR c.status = :status)")
-    Page<Customer> findByCriteria(
-        @Param("nome") String nome,
-        @Param("email") String email,
-        @Param("status") Customer.CustomerStatus status,
-        Pageable pageable
-    );
+    @Query("SELECT c.id AS id, c.nomeSearch AS nomeSearch, c.emailSearch AS emailSearch, c.updatedAt AS updatedAt " +
+           "FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchFields> findSearchFieldsAfter(@Param("afterId") long afterId, Pageable pageable);
 
     /**
-     * Find active customers by criteria (default dashboard view)
-     * Following Clean Code principles: method name expresses intent clearly
+     * Searchable columns of rows updated after the given (updatedAt, id) position, in that
+     * order, in batches, for catching the search index up with writes made elsewhere
      */
-    @Query("SELECT c FROM Customer c WHERE " +
-           "c.status = 'ATIVO' AND " +
-           "(:nome IS NULL OR LOWER(c.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) AND " +
-           "(:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', :email, '%')))")
-    Page<Customer> findActiveCustomersByCriteria(
-        @Param("nome") String nome,
-        @Param("email") String email,
+    @Query("SELECT c.id AS id, c.nomeSearch AS nomeSearch, c.emailSearch AS emailSearch, c.updatedAt AS updatedAt " +
+           "FROM Customer c WHERE c.updatedAt > :since OR (c.updatedAt = :since AND c.id > :afterId) " +
+           "ORDER BY c.updatedAt, c.id")
+    List<SearchFields> findSearchFieldsUpdatedSince(
+        @Param("since") LocalDateTime since,
+        @Param("afterId") long afterId,
         Pageable pageable
     );
 
+    /**
+     * Active customers in id order, in batches, for loading the suggestion index
+     */
+    @Query("SELECT c FROM Customer c WHERE c.status = 'ATIVO' AND c.id > :afterId ORDER BY c.id")
+    List<Customer> findActiveCustomersAfter(@Param("afterId") long afterId, Pageable pageable);
+
     /**
      * Find recent customers (last 30 days)
      */
-    @Query("SELECT c FROM Customer c WHERE c.createdAt >= :thirtyDaysAgo ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM Customer c WHERE c.createdAt >= :thirtyDaysAgo ORDER BY c.createdAt DESC, c.id DESC")
     List<Customer> findRecentCustomers(@Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
-}
\ No newline at end of file
+
+    /**
+     * Customers per status, for reconciling CustomerStatistics
+     */
+    @Query("SELECT c.status AS status, COUNT(c) AS total FROM Customer c GROUP BY c.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Customers created per day since the given instant, for reconciling CustomerStatistics
+     */
+    @Query("SELECT CAST(c.createdAt AS LocalDate) AS day, COUNT(c) AS total FROM Customer c " +
+           "WHERE c.createdAt >= :since GROUP BY CAST(c.createdAt AS LocalDate)")
+    List<DayCount> countCreatedSinceByDay(@Param("since") LocalDateTime since);
+
+    /**
+     * Row count and latest updated_at, the version of the customer book used as the listing ETag
+     */
+    @Query("SELECT COUNT(c) AS total, MAX(c.updatedAt) AS lastUpdatedAt FROM Customer c")
+    CollectionState findCollectionState();
+
+    interface StatusCount {
+        Customer.CustomerStatus getStatus();
+        long getTotal();
+    }
+
+    interface DayCount {
+        LocalDate getDay();
+        long getTotal();
+    }
+
+    interface CollectionState {
+        long getTotal();
+        LocalDateTime getLastUpdatedAt();
+    }
+
+    /**
+     * Projection of the columns the search index covers
+     */
+    interface SearchFields {
+        Long getId();
+        String getNomeSearch();
+        String getEmailSearch();
+        LocalDateTime getUpdatedAt();
+    }
+}
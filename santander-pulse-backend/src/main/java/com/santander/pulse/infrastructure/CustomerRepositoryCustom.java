@@ -0,0 +1,52 @@
+package com.santander.pulse.infrastructure;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.santander.pulse.application.dto.CustomerListItem;
+import com.santander.pulse.application.dto.CustomerPatchRequest;
+
+/**
+ * Customer queries and updates that cannot be expressed as static JPQL.
+ * Listings return CustomerListItem rows rather than managed entities.
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Customers matching the filter, with the total
+     */
+    Page<CustomerListItem> findByFilter(CustomerFilter filter, Pageable pageable);
+
+    /**
+     * findByFilter without the COUNT query; fetches one extra row to answer hasNext
+     */
+    Slice<CustomerListItem> findSliceByFilter(CustomerFilter filter, Pageable pageable);
+
+    /**
+     * Number of customers matching the filter
+     */
+    long countByFilter(CustomerFilter filter);
+
+    /**
+     * Keyset variant of findByFilter: the next rows after the cursor, without OFFSET or COUNT
+     */
+    List<CustomerListItem> findByFilterAfter(CustomerFilter filter, CustomerCursor cursor, int limit);
+
+    /**
+     * Every customer matching the filter in id order, read through a forward-only cursor
+     * fetchSize rows at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<CustomerListItem> streamByFilter(CustomerFilter filter, int fetchSize);
+
+    /**
+     * Write only the fields the patch sets, in one UPDATE that also bumps the version.
+     * With an expected version the row is only changed if it still has that version.
+     *
+     * @return 1 if the row was changed, 0 if it does not exist or its version moved on
+     */
+    int patch(long id, Long expectedVersion, CustomerPatchRequest patch);
+}
@@ -0,0 +1,171 @@
+package com.santander.pulse.infrastructure;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.santander.pulse.application.dto.CustomerListItem;
+import com.santander.pulse.application.dto.CustomerPatchRequest;
+import com.santander.pulse.domain.Customer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Filtered customer listings built by CustomerFilterCompiler.
+ * Keyset pages seek with a row-value comparison on (sort key, id) so every page reads only
+ * its own rows from the (status, nome, id) index, however deep the client has scrolled.
+ * Rows are projected into CustomerListItem, so nothing is added to the persistence context
+ * or snapshotted for dirty checking.
+ */
+class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    private final CustomerFilterCompiler compiler = new CustomerFilterCompiler();
+
+    private final CustomerStatistics customerStatistics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    CustomerRepositoryImpl(CustomerStatistics customerStatistics) {
+        this.customerStatistics = customerStatistics;
+    }
+
+    @Override
+    public Page<CustomerListItem> findByFilter(CustomerFilter filter, Pageable pageable) {
+        List<CustomerListItem> content = select(filter, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countByFilter(filter));
+    }
+
+    @Override
+    public Slice<CustomerListItem> findSliceByFilter(CustomerFilter filter, Pageable pageable) {
+        List<CustomerListItem> rows = select(filter, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countByFilter(CustomerFilter filter) {
+        TypedQuery<Long> query = entityManager.createQuery(compiler.count(filter), Long.class);
+        CustomerFilterCompiler.bind(query, filter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public List<CustomerListItem> findByFilterAfter(CustomerFilter filter, CustomerCursor cursor, int limit) {
+        TypedQuery<CustomerListItem> query = entityManager.createQuery(compiler.seek(filter, cursor), CustomerListItem.class)
+                .setMaxResults(limit);
+        CustomerFilterCompiler.bind(query, filter);
+        if (!cursor.isFirstPage()) {
+            query.setParameter("lastId", cursor.lastId());
+            if ("nome".equals(cursor.sortBy())) {
+                query.setParameter("lastValue", cursor.lastValue());
+            }
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<CustomerListItem> streamByFilter(CustomerFilter filter, int fetchSize) {
+        // Hibernate streams over a FORWARD_ONLY ScrollableResults, so only fetchSize rows are held at once
+        TypedQuery<CustomerListItem> query = entityManager
+                .createQuery(compiler.select(filter, Sort.by("id")), CustomerListItem.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        CustomerFilterCompiler.bind(query, filter);
+        return query.getResultStream();
+    }
+
+    private List<CustomerListItem> select(CustomerFilter filter, Pageable pageable, int limit) {
+        String jpql = compiler.select(filter, pageable.getSort());
+        TypedQuery<CustomerListItem> query = entityManager.createQuery(jpql, CustomerListItem.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit);
+        CustomerFilterCompiler.bind(query, filter);
+        return query.getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int patch(long id, Long expectedVersion, CustomerPatchRequest patch) {
+        if (patch.status() == null) {
+            return update(id, expectedVersion, patch);
+        }
+
+        // A status change feeds CustomerStatistics, which needs the status being replaced. It is read
+        // without a lock together with the version, and the UPDATE is guarded by that version, so the
+        // status read is exactly the one overwritten; a write landing in between is simply read again.
+        while (true) {
+            List<Object[]> rows = entityManager
+                    .createQuery("SELECT c.status, c.version FROM Customer c WHERE c.id = :id", Object[].class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            Customer.CustomerStatus previousStatus = (Customer.CustomerStatus) rows.get(0)[0];
+            long readVersion = (Long) rows.get(0)[1];
+            if (expectedVersion != null && expectedVersion != readVersion) {
+                return 0;
+            }
+            if (update(id, readVersion, patch) == 1) {
+                customerStatistics.statusChanged(previousStatus, patch.status());
+                return 1;
+            }
+            if (expectedVersion != null) {
+                return 0;
+            }
+        }
+    }
+
+    private int update(long id, Long expectedVersion, CustomerPatchRequest patch) {
+        // A bulk UPDATE skips the entity listeners, so the search columns and updatedAt are set here
+        StringBuilder jpql = new StringBuilder("UPDATE Customer c SET c.version = c.version + 1, c.updatedAt = :updatedAt");
+        if (patch.nome() != null) {
+            jpql.append(", c.nome = :nome, c.nomeSearch = :nomeSearch");
+        }
+        if (patch.email() != null) {
+            jpql.append(", c.email = :email, c.emailSearch = :emailSearch");
+        }
+        if (patch.telefone() != null) {
+            jpql.append(", c.telefone = :telefone");
+        }
+        if (patch.status() != null) {
+            jpql.append(", c.status = :status");
+        }
+        jpql.append(" WHERE c.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" AND c.version = :version");
+        }
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("updatedAt", LocalDateTime.now())
+                .setParameter("id", id);
+        if (patch.nome() != null) {
+            update.setParameter("nome", patch.nome()).setParameter("nomeSearch", SearchText.normalize(patch.nome()));
+        }
+        if (patch.email() != null) {
+            update.setParameter("email", patch.email()).setParameter("emailSearch", SearchText.normalize(patch.email()));
+        }
+        if (patch.telefone() != null) {
+            update.setParameter("telefone", patch.telefone());
+        }
+        if (patch.status() != null) {
+            update.setParameter("status", patch.status());
+        }
+        if (expectedVersion != null) {
+            update.setParameter("version", expectedVersion);
+        }
+        return update.executeUpdate();
+    }
+}
@@ -0,0 +1,237 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+/**
+ * Trigram indexes over the normalized customer nome and email, used to narrow substring searches to
+ * a set of ids before the listing query runs. The listing still applies its LIKE filters
+ * to those ids, so an entry left behind by a rename or delete only costs a wasted id.
+ * A row missing from the index is a missed row, though: writes on this node are indexed as
+ * they commit, and writes made elsewhere (other nodes, bulk statements, direct SQL) are
+ * caught up by updated_at on a schedule. Until the first load and whenever the last
+ * successful catch-up is older than max-lag, searches use the plain query instead.
+ * They also do when no term is indexable or the match set is too broad for an id list to
+ * beat an ordered scan.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final ObjectProvider<CustomerRepository> customerRepository;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final TrigramIndex nomeIndex = new TrigramIndex();
+    private final TrigramIndex emailIndex = new TrigramIndex();
+    private final Counter indexedSearches;
+    private final Counter fallbackSearches;
+    private final Duration catchUpOverlap;
+    private final long maxLagNanos;
+    // Latest updated_at read from the table; catch-ups re-read from a little before it
+    private volatile LocalDateTime watermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // System.nanoTime() at the start of the last load or catch-up that completed
+    private volatile long caughtUpAt;
+    private volatile boolean ready;
+
+    /**
+     * The repository is resolved lazily: the entity listener needs this bean while the
+     * EntityManagerFactory the repository depends on is still being built
+     */
+    public CustomerSearchIndex(
+            ObjectProvider<CustomerRepository> customerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${pulse.customer-search.enabled:true}") boolean enabled,
+            @Value("${pulse.customer-search.max-candidates:1000}") int maxCandidates,
+            @Value("${pulse.customer-search.catch-up-overlap:1m}") Duration catchUpOverlap,
+            @Value("${pulse.customer-search.max-lag:2m}") Duration maxLag
+    ) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+        this.catchUpOverlap = catchUpOverlap;
+        this.maxLagNanos = maxLag.toNanos();
+
+        this.indexedSearches = Counter.builder("customers.search")
+                .description("Customer substring searches by how they were answered")
+                .tag("path", "index")
+                .register(meterRegistry);
+        this.fallbackSearches = Counter.builder("customers.search")
+                .description("Customer substring searches by how they were answered")
+                .tag("path", "scan")
+                .register(meterRegistry);
+        Gauge.builder("customers.search.index.documents", nomeIndex, TrigramIndex::size)
+                .description("Customers held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids of the customers whose normalized nome and email contain the given terms, ascending
+     *
+     * @return empty when the index cannot narrow the search and the caller should scan
+     */
+    public Optional<List<Long>> candidates(String nome, String email) {
+        if (nome == null && email == null) {
+            return Optional.empty();
+        }
+
+        nome = SearchText.normalize(nome);
+        email = SearchText.normalize(email);
+        boolean current = ready && System.nanoTime() - caughtUpAt <= maxLagNanos;
+        long[] ids = null;
+        if (current && TrigramIndex.isSearchable(nome)) {
+            ids = nomeIndex.search(nome);
+        }
+        if (current && TrigramIndex.isSearchable(email)) {
+            long[] emailIds = emailIndex.search(email);
+            ids = ids == null ? emailIds : TrigramIndex.intersect(ids, emailIds);
+        }
+
+        if (ids == null || ids.length > maxCandidates) {
+            fallbackSearches.increment();
+            return Optional.empty();
+        }
+        indexedSearches.increment();
+        return Optional.of(LongStream.of(ids).boxed().toList());
+    }
+
+    /**
+     * Index a customer written through the entity; takes effect when the surrounding transaction
+     * commits, so a rolled-back write never leaves its text in the index
+     */
+    public void index(Customer customer) {
+        if (customer.getId() != null) {
+            long id = customer.getId();
+            String nomeSearch = customer.getNomeSearch();
+            String emailSearch = customer.getEmailSearch();
+            afterCommit(() -> index(id, nomeSearch, emailSearch));
+        }
+    }
+
+    /**
+     * Index a row written without going through the entity, e.g. by the bulk import
+     */
+    public void index(long id, String nomeSearch, String emailSearch) {
+        if (enabled) {
+            nomeIndex.put(id, nomeSearch);
+            emailIndex.put(id, emailSearch);
+        }
+    }
+
+    /**
+     * Drop a deleted customer; takes effect when the surrounding transaction commits
+     */
+    public void remove(Customer customer) {
+        if (enabled && customer.getId() != null) {
+            long id = customer.getId();
+            afterCommit(() -> {
+                nomeIndex.remove(id);
+                emailIndex.remove(id);
+            });
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Load every existing customer in id order; writes made meanwhile reach the index
+     * through the entity listener or the first catch-up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        CustomerRepository repository = customerRepository.getObject();
+        long lastId = Long.MIN_VALUE;
+        List<CustomerRepository.SearchFields> batch;
+        do {
+            batch = repository.findSearchFieldsAfter(lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            for (CustomerRepository.SearchFields row : batch) {
+                put(row);
+                lastId = row.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        caughtUpAt = startedAt;
+        ready = true;
+        logger.info("Customer search index loaded with {} customers", nomeIndex.size());
+    }
+
+    /**
+     * Index rows updated since the watermark, less the overlap, so writes made elsewhere become
+     * searchable. The overlap covers transactions that commit after a later updated_at was read.
+     */
+    @Scheduled(
+            fixedDelayString = "${pulse.customer-search.catch-up-interval:30s}",
+            initialDelayString = "${pulse.customer-search.catch-up-interval:30s}"
+    )
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        CustomerRepository repository = customerRepository.getObject();
+        LocalDateTime since = watermark.minus(catchUpOverlap);
+        long lastId = Long.MIN_VALUE;
+        int updated = 0;
+        List<CustomerRepository.SearchFields> batch;
+        do {
+            batch = repository.findSearchFieldsUpdatedSince(since, lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            for (CustomerRepository.SearchFields row : batch) {
+                put(row);
+                since = row.getUpdatedAt();
+                lastId = row.getId();
+            }
+            updated += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        caughtUpAt = startedAt;
+        if (updated > 0) {
+            logger.debug("Customer search index caught up with {} updated customers", updated);
+        }
+    }
+
+    private void put(CustomerRepository.SearchFields row) {
+        nomeIndex.put(row.getId(), row.getNomeSearch());
+        emailIndex.put(row.getId(), row.getEmailSearch());
+        if (row.getUpdatedAt() != null && row.getUpdatedAt().isAfter(watermark)) {
+            watermark = row.getUpdatedAt();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Customer counts for the stats dashboard, kept in memory so reading them costs no query.
+ * Per-status totals and per-day signup counts are adjusted as customer writes commit on
+ * this node, and reconciled against the customers table on a schedule to pick up writes
+ * made elsewhere (other nodes, bulk statements, direct SQL).
+ *
+ * Signups are counted in a ring of day buckets covering the current day and the
+ * recent-days - 1 before it; a bucket is reused once its day falls out of the window.
+ */
+@Component
+public class CustomerStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatistics.class);
+
+    private final ObjectProvider<CustomerRepository> customerRepository;
+    private final int recentDays;
+    private final Map<Customer.CustomerStatus, LongAdder> byStatus = new EnumMap<>(Customer.CustomerStatus.class);
+    private final AtomicReferenceArray<DayBucket> signupsByDay;
+    // Counts applied changes, so a reconciliation can tell whether one landed while it was querying
+    private final LongAdder applied = new LongAdder();
+
+    /**
+     * The repository is resolved lazily: the entity listener needs this bean while the
+     * EntityManagerFactory the repository depends on is still being built
+     */
+    public CustomerStatistics(
+            ObjectProvider<CustomerRepository> customerRepository,
+            @Value("${pulse.customer-stats.recent-days:30}") int recentDays
+    ) {
+        this.customerRepository = customerRepository;
+        this.recentDays = recentDays;
+        this.signupsByDay = new AtomicReferenceArray<>(recentDays);
+        for (Customer.CustomerStatus status : Customer.CustomerStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+
+    public long total() {
+        long total = 0;
+        for (LongAdder count : byStatus.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long count(Customer.CustomerStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    /**
+     * Customers created today or on the recent-days - 1 days before it
+     */
+    public long recentSignups() {
+        long today = LocalDate.now().toEpochDay();
+        long signups = 0;
+        for (int slot = 0; slot < recentDays; slot++) {
+            DayBucket bucket = signupsByDay.get(slot);
+            if (bucket != null && bucket.day() > today - recentDays && bucket.day() <= today) {
+                signups += bucket.signups().sum();
+            }
+        }
+        return signups;
+    }
+
+    /**
+     * Record a new customer; takes effect when the surrounding transaction commits
+     */
+    public void created(Customer.CustomerStatus status, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            byStatus.get(status).increment();
+            LongAdder signups = signups(createdAt.toLocalDate().toEpochDay(), true);
+            if (signups != null) {
+                signups.increment();
+            }
+        });
+    }
+
+    /**
+     * Record a status change; takes effect when the surrounding transaction commits
+     */
+    public void statusChanged(Customer.CustomerStatus from, Customer.CustomerStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            byStatus.get(from).decrement();
+            byStatus.get(to).increment();
+        });
+    }
+
+    /**
+     * Record a deleted customer; takes effect when the surrounding transaction commits
+     */
+    public void removed(Customer.CustomerStatus status, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            byStatus.get(status).decrement();
+            LongAdder signups = createdAt == null ? null : signups(createdAt.toLocalDate().toEpochDay(), false);
+            if (signups != null) {
+                signups.decrement();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        logger.info("Customer statistics loaded: {} customers, {} recent signups", total(), recentSignups());
+    }
+
+    /**
+     * Correct the counters against the customers table. A pass that overlaps a change applied
+     * on this node is dropped, since its counts may or may not include that change; the next
+     * pass settles it.
+     */
+    @Scheduled(
+            fixedDelayString = "${pulse.customer-stats.reconcile-interval:5m}",
+            initialDelayString = "${pulse.customer-stats.reconcile-interval:5m}"
+    )
+    public void reconcile() {
+        CustomerRepository repository = customerRepository.getObject();
+        long appliedBefore = applied.sum();
+        LocalDate firstDay = LocalDate.now().minusDays(recentDays - 1L);
+
+        Map<Customer.CustomerStatus, Long> statusCounts = new EnumMap<>(Customer.CustomerStatus.class);
+        for (CustomerRepository.StatusCount row : repository.countGroupedByStatus()) {
+            statusCounts.put(row.getStatus(), row.getTotal());
+        }
+        Map<Long, Long> dayCounts = new HashMap<>();
+        for (CustomerRepository.DayCount row : repository.countCreatedSinceByDay(firstDay.atStartOfDay())) {
+            dayCounts.put(row.getDay().toEpochDay(), row.getTotal());
+        }
+
+        if (applied.sum() != appliedBefore) {
+            logger.debug("Customer statistics reconciliation overlapped a write; retrying next pass");
+            return;
+        }
+
+        long drift = 0;
+        for (Map.Entry<Customer.CustomerStatus, LongAdder> entry : byStatus.entrySet()) {
+            drift += correct(entry.getValue(), statusCounts.getOrDefault(entry.getKey(), 0L));
+        }
+        for (long day = firstDay.toEpochDay(); day < firstDay.toEpochDay() + recentDays; day++) {
+            LongAdder signups = signups(day, true);
+            if (signups != null) {
+                drift += correct(signups, dayCounts.getOrDefault(day, 0L));
+            }
+        }
+        if (drift != 0) {
+            logger.info("Customer statistics reconciled; {} counts corrected", drift);
+        }
+    }
+
+    /**
+     * Move the counter to the database value by adding the difference, so increments that
+     * land meanwhile are kept
+     */
+    private static long correct(LongAdder counter, long expected) {
+        long difference = expected - counter.sum();
+        if (difference != 0) {
+            counter.add(difference);
+        }
+        return Math.abs(difference);
+    }
+
+    /**
+     * Bucket for the given epoch day, or null when the day is outside the window. When create
+     * is false, a slot still holding an earlier day is left alone.
+     */
+    private LongAdder signups(long day, boolean create) {
+        if (day <= LocalDate.now().toEpochDay() - recentDays) {
+            return null;
+        }
+        int slot = (int) Math.floorMod(day, (long) recentDays);
+        while (true) {
+            DayBucket current = signupsByDay.get(slot);
+            if (current != null && current.day() == day) {
+                return current.signups();
+            }
+            if ((current != null && current.day() > day) || !create) {
+                return null;
+            }
+            DayBucket fresh = new DayBucket(day, new LongAdder());
+            if (signupsByDay.compareAndSet(slot, current, fresh)) {
+                return fresh.signups();
+            }
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable counted = () -> {
+            change.run();
+            applied.increment();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counted.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counted.run();
+            }
+        });
+    }
+
+    private record DayBucket(long day, LongAdder signups) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead over active customers. Every customer is filed under a few normalized keys
+ * (its name from each word onwards, its email local-part and its CPF digits) in one sorted
+ * concurrent map, so a prefix lookup is a range scan that stops after the first N customers.
+ * Writes reach it through the entity listener once their transaction commits, since
+ * suggestions are served without going back to the database; inactive customers are dropped.
+ */
+@Component
+public class CustomerSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSuggestionIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final Pattern CPF_QUERY = Pattern.compile("[\\d.\\-\\s]+");
+    private static final String TEXT = "t:";
+    private static final String CPF = "c:";
+    // Sorts after any character in a key, closing a prefix range
+    private static final char RANGE_END = '\uffff';
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ObjectProvider<CustomerRepository> customerRepository;
+    private final ConcurrentSkipListMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * The repository is resolved lazily for the same reason as in CustomerSearchIndex
+     */
+    public CustomerSuggestionIndex(ObjectProvider<CustomerRepository> customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    /**
+     * Up to limit active customers whose name words, email local-part or CPF start with the query
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = CPF_QUERY.matcher(query).matches()
+                ? CPF + query.replaceAll("\\D", "")
+                : TEXT + SearchText.normalize(query);
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        NavigableMap<String, Suggestion> range = entries.subMap(prefix, true, prefix + RANGE_END, false);
+        for (Suggestion suggestion : range.values()) {
+            if (seen.add(suggestion.id())) {
+                suggestions.add(suggestion);
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    public void index(Customer customer) {
+        if (customer.getId() != null) {
+            long id = customer.getId();
+            String nome = customer.getNome();
+            String cpf = customer.getCpf();
+            String email = customer.getEmail();
+            boolean active = customer.isActive();
+            afterCommit(() -> put(id, nome, cpf, email, active));
+        }
+    }
+
+    public void remove(Customer customer) {
+        if (customer.getId() != null) {
+            long id = customer.getId();
+            afterCommit(() -> put(id, null, null, null, false));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Replace everything filed for the customer; per-id updates are serialized by the id map
+     */
+    public void put(long id, String nome, String cpf, String email, boolean active) {
+        keysById.compute(id, (key, previous) -> {
+            if (previous != null) {
+                previous.forEach(entries::remove);
+            }
+            if (!active) {
+                return null;
+            }
+            Suggestion suggestion = new Suggestion(id, nome, cpf, email);
+            List<String> keys = keysFor(id, nome, cpf, email);
+            keys.forEach(k -> entries.put(k, suggestion));
+            return keys;
+        });
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        CustomerRepository repository = customerRepository.getObject();
+        long lastId = Long.MIN_VALUE;
+        List<Customer> batch;
+        do {
+            batch = repository.findActiveCustomersAfter(lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            for (Customer customer : batch) {
+                put(customer.getId(), customer.getNome(), customer.getCpf(), customer.getEmail(), true);
+                lastId = customer.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        logger.info("Customer suggestion index loaded with {} customers", size());
+    }
+
+    private static List<String> keysFor(long id, String nome, String cpf, String email) {
+        String suffix = ID_SEPARATOR + Long.toString(id);
+        List<String> keys = new ArrayList<>();
+        String name = SearchText.normalize(nome);
+        if (name != null && !name.isEmpty()) {
+            int start = 0;
+            while (start >= 0) {
+                keys.add(TEXT + name.substring(start) + suffix);
+                int space = name.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+        }
+        String mail = SearchText.normalize(email);
+        if (mail != null && !mail.isEmpty()) {
+            int at = mail.indexOf('@');
+            keys.add(TEXT + (at >= 0 ? mail.substring(0, at) : mail) + suffix);
+        }
+        // Rows written outside the entity may hold a formatted CPF; queries are matched on digits
+        String cpfDigits = cpf != null ? cpf.replaceAll("\\D", "") : null;
+        if (cpfDigits != null && !cpfDigits.isEmpty()) {
+            keys.add(CPF + cpfDigits + suffix);
+        }
+        return keys;
+    }
+
+    public record Suggestion(long id, String nome, String cpf, String email) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Provisions accounts whose identity is verified by an external provider.
+ * These accounts carry no password hash, so sign-in never pays for BCrypt.
+ */
+@Service
+public class ExternalAccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalAccountService.class);
+    private static final String DEFAULT_NAME = "Google User";
+
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserLookupCache userLookupCache;
+    private final IdAllocator idAllocator;
+
+    public ExternalAccountService(
+            UserRepository userRepository,
+            CustomUserDetailsService userDetailsService,
+            UserLookupCache userLookupCache,
+            IdAllocator idAllocator
+    ) {
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.userLookupCache = userLookupCache;
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Create the account on first sign-in or pick up a new display name, then load it
+     */
+    @Transactional
+    public User signIn(User.AuthProvider provider, String subject, String email, String fullName) {
+        int changed = userRepository.upsertExternalUser(
+            idAllocator.nextId(), email, fullName, DEFAULT_NAME, provider.name(), subject);
+        if (changed > 0) {
+            userLookupCache.invalidate(UserLookupCache.Key.EMAIL, email);
+            logger.debug("Provisioned or renamed {} account for email: {}", provider, email);
+        }
+        return (User) userDetailsService.loadUserByEmail(email);
+    }
+}
@@ -7,9 +7,12 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequ
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+
 /**
  * Stores OAuth2 authorization requests in secure HTTP-only cookies so the flow
  * works even when server-side sessions are disabled.
+ * Cookie values are signed and encoded by {@link OAuth2AuthorizationRequestCodec}.
  */
 @Component
 public class HttpCookieOAuth2AuthorizationRequestRepository
@@ -19,10 +22,16 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
     public static final String OAUTH2_REDIRECT_URI_COOKIE_NAME = "oauth2_redirect_uri";
     private static final int COOKIE_EXPIRE_SECONDS = 180;
 
+    private final OAuth2AuthorizationRequestCodec codec;
+
+    public HttpCookieOAuth2AuthorizationRequestRepository(OAuth2AuthorizationRequestCodec codec) {
+        this.codec = codec;
+    }
+
     @Override
     public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
         return CookieUtils.getCookie(request, OAUTH2_AUTH_REQUEST_COOKIE_NAME)
-                .map(cookie -> CookieUtils.deserialize(cookie.getValue(), OAuth2AuthorizationRequest.class))
+                .map(cookie -> codec.decode(cookie.getValue()))
                 .orElse(null);
     }
 
@@ -40,7 +49,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
         CookieUtils.addCookie(
                 response,
                 OAUTH2_AUTH_REQUEST_COOKIE_NAME,
-                CookieUtils.serialize(authorizationRequest),
+                codec.encode(authorizationRequest, Duration.ofSeconds(COOKIE_EXPIRE_SECONDS)),
                 COOKIE_EXPIRE_SECONDS
         );
 
@@ -0,0 +1,12 @@
+package com.santander.pulse.infrastructure;
+
+/**
+ * Source of primary keys for rows the application inserts.
+ * Ids are handed out before the row is written, so Hibernate can batch inserts and bulk
+ * writers need no generated-key round trip. Implementations must be thread-safe and must
+ * never return the same id twice, including across application nodes sharing a database.
+ */
+public interface IdAllocator {
+
+    long nextId();
+}
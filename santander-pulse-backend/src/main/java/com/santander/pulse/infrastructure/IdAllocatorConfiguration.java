@@ -0,0 +1,39 @@
+package com.santander.pulse.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Picks the primary key allocator shared by Hibernate (through AllocatedIdGenerator) and the
+ * JDBC bulk writers. Every node writing to the same database needs its own node id under the
+ * time-ordered strategy; the sequence strategy needs no per-node setting.
+ */
+@Configuration
+public class IdAllocatorConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdAllocatorConfiguration.class);
+
+    @Bean
+    public IdAllocator idAllocator(
+            @Value("${pulse.ids.strategy:time-ordered}") String strategy,
+            @Value("${pulse.ids.node-id:0}") int nodeId,
+            @Value("${pulse.ids.sequence.pool-size:100}") int poolSize,
+            JdbcTemplate jdbcTemplate
+    ) {
+        return switch (strategy) {
+            case "time-ordered" -> {
+                logger.info("Allocating time-ordered ids as node {}", nodeId);
+                yield new TimeOrderedIdAllocator(nodeId);
+            }
+            case "sequence" -> {
+                logger.info("Allocating ids from the {} sequence in pools of {}", PooledSequenceIdAllocator.SEQUENCE, poolSize);
+                yield new PooledSequenceIdAllocator(jdbcTemplate, poolSize);
+            }
+            default -> throw new IllegalArgumentException("Unsupported id strategy: " + strategy);
+        };
+    }
+}
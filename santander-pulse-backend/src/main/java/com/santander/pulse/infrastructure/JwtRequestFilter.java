@@ -21,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 /**
  * JWT Request Filter to intercept and validate JWT tokens.
@@ -35,13 +36,22 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserSecurityVersions securityVersions;
+    private final TokenRevocationService tokenRevocationService;
     private final String contextPath;
 
     public JwtRequestFilter(UserDetailsService userDetailsService,
                             JwtService jwtService,
+                            VerifiedTokenCache verifiedTokenCache,
+                            UserSecurityVersions securityVersions,
+                            TokenRevocationService tokenRevocationService,
                             @Value("${server.servlet.context-path:}") String contextPath) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.securityVersions = securityVersions;
+        this.tokenRevocationService = tokenRevocationService;
         this.contextPath = contextPath != null ? contextPath.trim() : "";
     }
 
@@ -55,7 +65,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String normalizedPath = normalizePath(requestURI);
 
         String username = null;
-        String jwtToken = null;
+        VerifiedToken verifiedToken = null;
 
         if (isPublicEndpoint(normalizedPath)) {
             filterChain.doFilter(request, response);
@@ -63,11 +73,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith(BEARER_PREFIX)) {
-            jwtToken = requestTokenHeader.substring(BEARER_PREFIX.length());
+            String jwtToken = requestTokenHeader.substring(BEARER_PREFIX.length());
 
             try {
-                username = jwtService.extractUsername(jwtToken);
-                logger.debug("JWT token extracted for user: {}", username);
+                verifiedToken = verifiedTokenCache.resolve(jwtToken);
+                if (tokenRevocationService.isRevoked(verifiedToken.tokenId())) {
+                    logger.warn("JWT Token has been revoked for user: {}", verifiedToken.subject());
+                } else {
+                    username = verifiedToken.subject();
+                    logger.debug("JWT token extracted for user: {}", username);
+                }
             } catch (IllegalArgumentException e) {
                 logger.warn("Unable to get JWT Token: {}", e.getMessage());
             } catch (ExpiredJwtException e) {
@@ -87,9 +102,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = resolvePrincipal(verifiedToken);
 
-                if (jwtService.isTokenValid(jwtToken, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -106,6 +121,31 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build the principal from token claims when the embedded security version is still current,
+     * falling back to the users table only for unknown or changed accounts.
+     */
+    private UserDetails resolvePrincipal(VerifiedToken verifiedToken) {
+        String username = verifiedToken.subject();
+
+        if (securityVersions.isCurrent(username, verifiedToken.securityVersion())
+                && !verifiedToken.authorities().isEmpty()
+                && !verifiedToken.isExpiredAt(Instant.now())) {
+            return org.springframework.security.core.userdetails.User.withUsername(username)
+                    .password("")
+                    .authorities(verifiedToken.authorities().toArray(String[]::new))
+                    .build();
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (userDetails.isEnabled()
+                && userDetails.isAccountNonLocked()
+                && jwtService.isTokenValid(verifiedToken, userDetails)) {
+            return userDetails;
+        }
+        return null;
+    }
+
     private boolean isPublicEndpoint(String normalizedPath) {
         return normalizedPath.startsWith("/auth/") ||
                 normalizedPath.startsWith("/oauth2/") ||
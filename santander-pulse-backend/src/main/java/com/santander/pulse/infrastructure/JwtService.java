@@ -1,35 +1,66 @@
 package com.santander.pulse.infrastructure;
 
+import com.santander.pulse.domain.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * JWT Service for token generation and validation.
  * Implements banking-grade security with proper expiration and validation.
+ * The signing key and parser are built once at startup and shared across requests.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String SECURITY_VERSION_CLAIM = "sv";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+    private final long jwtExpiration;
+    private final long refreshExpiration;
 
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.refresh-expiration}") long refreshExpiration
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Verify signature and expiry of a JWT token in a single parse
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims
+        );
+    }
 
     /**
      * Extract username from JWT token
@@ -82,13 +113,22 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof User user) {
+            claims.put(SECURITY_VERSION_CLAIM, user.getSecurityVersion());
+        }
+
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS512)
+                .signWith(signInKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
@@ -96,35 +136,40 @@ public class JwtService {
      * Validate JWT token
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
-     * Check if token is expired
+     * Validate an already verified JWT token against the loaded user
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpiredAt(Instant.now())
+                && isSecurityVersionCurrent(token, userDetails);
+    }
+
+    /**
+     * Tokens issued before a role, password or account state change carry a stale stamp
+     */
+    private boolean isSecurityVersionCurrent(VerifiedToken token, UserDetails userDetails) {
+        if (!(userDetails instanceof User user) || token.securityVersion() == null) {
+            return true;
+        }
+        return token.securityVersion() == user.getSecurityVersion();
     }
 
     /**
      * Extract all claims from JWT token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    /**
-     * Get signing key for JWT
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 
     /**
@@ -140,4 +185,4 @@ public class JwtService {
     public long getRefreshExpiration() {
         return refreshExpiration;
     }
-}
\ No newline at end of file
+}
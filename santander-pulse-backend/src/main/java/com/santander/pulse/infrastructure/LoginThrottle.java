@@ -0,0 +1,81 @@
+package com.santander.pulse.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Throttles credential checks per principal (CPF/username) and per client IP.
+ * Consulted before any password hashing so rejected attempts cost no BCrypt CPU.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter principalLimiter;
+    private final TokenBucketLimiter clientLimiter;
+    private final Counter principalRejections;
+    private final Counter clientRejections;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${pulse.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${pulse.security.login-throttle.max-entries:100000}") long maxEntries,
+            @Value("${pulse.security.login-throttle.principal.capacity:10}") int principalCapacity,
+            @Value("${pulse.security.login-throttle.principal.refill-period:1m}") Duration principalRefillPeriod,
+            @Value("${pulse.security.login-throttle.client.capacity:100}") int clientCapacity,
+            @Value("${pulse.security.login-throttle.client.refill-period:1m}") Duration clientRefillPeriod
+    ) {
+        this.enabled = enabled;
+        this.principalLimiter = new TokenBucketLimiter(principalCapacity, principalRefillPeriod, maxEntries);
+        this.clientLimiter = new TokenBucketLimiter(clientCapacity, clientRefillPeriod, maxEntries);
+
+        this.principalRejections = Counter.builder("auth.login.throttled")
+                .description("Login and registration attempts rejected by the throttle")
+                .tag("scope", "principal")
+                .register(meterRegistry);
+        this.clientRejections = Counter.builder("auth.login.throttled")
+                .description("Login and registration attempts rejected by the throttle")
+                .tag("scope", "client")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.buckets", principalLimiter, TokenBucketLimiter::trackedKeys)
+                .description("Token buckets currently tracked")
+                .tag("scope", "principal")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.buckets", clientLimiter, TokenBucketLimiter::trackedKeys)
+                .description("Token buckets currently tracked")
+                .tag("scope", "client")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a token for both the client address and the principal
+     *
+     * @return Duration.ZERO when allowed, otherwise how long the caller should wait
+     */
+    public Duration tryAcquire(String principal, String clientAddress) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        if (clientAddress != null) {
+            long wait = clientLimiter.tryAcquire(clientAddress);
+            if (wait > 0) {
+                clientRejections.increment();
+                return Duration.ofNanos(wait);
+            }
+        }
+        if (principal != null) {
+            long wait = principalLimiter.tryAcquire(principal);
+            if (wait > 0) {
+                principalRejections.increment();
+                return Duration.ofNanos(wait);
+            }
+        }
+        return Duration.ZERO;
+    }
+}
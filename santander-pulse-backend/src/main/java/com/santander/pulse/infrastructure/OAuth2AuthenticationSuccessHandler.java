@@ -11,7 +11,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
@@ -24,7 +23,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Base64;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Handles successful OAuth2 authentication by issuing JWT tokens and redirecting to the frontend.
@@ -35,8 +33,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     private static final Logger logger = LoggerFactory.getLogger(OAuth2AuthenticationSuccessHandler.class);
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ExternalAccountService externalAccountService;
     private final ObjectMapper objectMapper;
     private final HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
 
@@ -48,14 +45,12 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     public OAuth2AuthenticationSuccessHandler(
             JwtService jwtService,
-            UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            ExternalAccountService externalAccountService,
             ObjectMapper objectMapper,
             HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository
     ) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.externalAccountService = externalAccountService;
         this.objectMapper = objectMapper;
         this.authorizationRequestRepository = authorizationRequestRepository;
     }
@@ -92,13 +87,12 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         final String emailToUse = resolvedEmail;
 
-        User user = userRepository.findByEmail(emailToUse)
-                .orElseGet(() -> createUserFromOAuth(emailToUse, name));
-
-        if (StringUtils.hasText(name) && !name.equals(user.getFullName())) {
-            user.setFullName(name);
-            user = userRepository.save(user);
-        }
+        User user = externalAccountService.signIn(
+                User.AuthProvider.GOOGLE,
+                subject,
+                emailToUse,
+                StringUtils.hasText(name) ? name : null
+        );
 
         String accessToken = jwtService.generateToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
@@ -112,7 +106,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         user.getCpf()
     );
 
-    String userPayload = Base64.getUrlEncoder()
+    String userPayload = Base64.getUrlEncoder().withoutPadding()
         .encodeToString(objectMapper.writeValueAsBytes(userInfo));
 
     String callbackUrl = determineRedirectTarget(request);
@@ -130,18 +124,6 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         getRedirectStrategy().sendRedirect(request, response, targetUrl);
     }
 
-    private User createUserFromOAuth(String email, String name) {
-        User user = new User(
-                email,
-                email,
-                passwordEncoder.encode(UUID.randomUUID().toString()),
-                StringUtils.hasText(name) ? name : "Google User"
-        );
-        user.setRole(User.Role.USER);
-        user.setCpf(null);
-        return userRepository.save(user);
-    }
-
     private String determineRedirectTarget(HttpServletRequest request) {
         String defaultTarget = resolveFrontendCallbackUrl();
 
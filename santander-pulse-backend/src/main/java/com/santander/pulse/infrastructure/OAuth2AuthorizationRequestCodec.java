@@ -0,0 +1,184 @@
+package com.santander.pulse.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact, tamper-proof cookie encoding for OAuth2 authorization requests.
+ * Replaces Java serialization: the request is written field by field as a small binary
+ * record with an expiry, followed by a truncated HMAC-SHA256 tag. Nothing is instantiated
+ * from the cookie until the tag has been checked.
+ * The authorization request URI is not stored; the builder derives it from the other fields.
+ */
+@Component
+public class OAuth2AuthorizationRequestCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(OAuth2AuthorizationRequestCodec.class);
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int TAG_LENGTH = 16;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final Clock clock;
+
+    @Autowired
+    public OAuth2AuthorizationRequestCodec(@Value("${app.oauth2.cookie-secret:${jwt.secret}}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    OAuth2AuthorizationRequestCodec(String secret, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+            }
+        });
+        this.clock = clock;
+    }
+
+    /**
+     * Encode the request as "payload.tag", valid for the given time
+     */
+    public String encode(OAuth2AuthorizationRequest request, Duration ttl) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(clock.millis() + ttl.toMillis());
+            out.writeUTF(request.getAuthorizationUri());
+            out.writeUTF(request.getClientId());
+            writeNullable(out, request.getRedirectUri());
+            writeNullable(out, request.getState());
+            out.writeShort(request.getScopes().size());
+            for (String scope : request.getScopes()) {
+                out.writeUTF(scope);
+            }
+            writeMap(out, request.getAdditionalParameters());
+            writeMap(out, request.getAttributes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode OAuth2 authorization request", e);
+        }
+
+        byte[] payload = buffer.toByteArray();
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(tag(payload));
+    }
+
+    /**
+     * Decode a cookie value, or return null when it is malformed, tampered with or expired
+     */
+    public OAuth2AuthorizationRequest decode(String value) {
+        int separator = value.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] presentedTag;
+        try {
+            payload = DECODER.decode(value.substring(0, separator));
+            presentedTag = DECODER.decode(value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(tag(payload), presentedTag)) {
+            logger.warn("Rejected OAuth2 authorization request cookie with an invalid signature");
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            if (in.readLong() < clock.millis()) {
+                logger.debug("Ignoring expired OAuth2 authorization request cookie");
+                return null;
+            }
+
+            OAuth2AuthorizationRequest.Builder builder = OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(in.readUTF())
+                    .clientId(in.readUTF())
+                    .redirectUri(readNullable(in))
+                    .state(readNullable(in));
+
+            int scopeCount = in.readUnsignedShort();
+            Set<String> scopes = new LinkedHashSet<>(scopeCount * 2);
+            for (int i = 0; i < scopeCount; i++) {
+                scopes.add(in.readUTF());
+            }
+
+            return builder
+                    .scopes(scopes)
+                    .additionalParameters(readMap(in))
+                    .attributes(readMap(in))
+                    .build();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] tag(byte[] payload) {
+        return Arrays.copyOf(mac.get().doFinal(payload), TAG_LENGTH);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Parameters and attributes set by Spring's resolvers (nonce, registration_id, PKCE)
+     * are strings; any other value is stored in its string form.
+     */
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(String.valueOf(entry.getValue()));
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+}
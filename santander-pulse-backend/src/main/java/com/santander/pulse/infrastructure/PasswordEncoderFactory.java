@@ -0,0 +1,88 @@
+package com.santander.pulse.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the delegating password encoder.
+ * Stored hashes carry an algorithm prefix (e.g. {bcrypt}) and their own cost, so hashes
+ * produced under an older algorithm or a lower BCrypt strength are still verified and get
+ * flagged for re-encoding on the next successful login. Unprefixed hashes are legacy BCrypt.
+ */
+@Component
+public class PasswordEncoderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
+
+    private final String algorithm;
+    private final int bcryptStrength;
+
+    public PasswordEncoderFactory(
+            @Value("${pulse.security.password-hashing.algorithm:bcrypt}") String algorithm,
+            @Value("${pulse.security.password-hashing.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${pulse.security.password-hashing.bcrypt.target-duration:250ms}") Duration targetDuration,
+            @Value("${pulse.security.password-hashing.bcrypt.min-strength:10}") int minStrength,
+            @Value("${pulse.security.password-hashing.bcrypt.max-strength:16}") int maxStrength
+    ) {
+        this.algorithm = switch (algorithm) {
+            case BCRYPT -> BCRYPT;
+            case "pbkdf2", PBKDF2 -> PBKDF2;
+            default -> throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        };
+        if (bcryptStrength > 0) {
+            this.bcryptStrength = bcryptStrength;
+        } else {
+            this.bcryptStrength = calibrateBcryptStrength(targetDuration, minStrength, maxStrength);
+            logger.info("Calibrated BCrypt strength {} for a {} ms verification target",
+                    this.bcryptStrength, targetDuration.toMillis());
+        }
+    }
+
+    public PasswordEncoder create() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    /**
+     * Smallest strength in [min, max] whose hash takes at least the target on this machine.
+     * Each step doubles the work, so at most one extra hash past the target is spent measuring.
+     */
+    static int calibrateBcryptStrength(Duration target, int minStrength, int maxStrength) {
+        String sample = UUID.randomUUID().toString();
+        new BCryptPasswordEncoder(minStrength).encode(sample);
+
+        for (int strength = minStrength; strength < maxStrength; strength++) {
+            long started = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode(sample);
+            if (System.nanoTime() - started >= target.toNanos()) {
+                return strength;
+            }
+        }
+        return maxStrength;
+    }
+}
@@ -0,0 +1,20 @@
+package com.santander.pulse.infrastructure;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password hashing pool is saturated and the caller should retry later
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingRejectedException(Duration retryAfter) {
+        super("Password hashing capacity exhausted");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
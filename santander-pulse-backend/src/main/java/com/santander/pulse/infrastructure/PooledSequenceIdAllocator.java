@@ -0,0 +1,38 @@
+package com.santander.pulse.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fallback allocator backed by a database sequence that steps by the pool size.
+ * Each fetch reserves a block of pool-size ids for this node, so only one in pool-size
+ * allocations touches the database. Blocks are disjoint across nodes; ids are ascending
+ * within a node but interleave between nodes block by block.
+ */
+public class PooledSequenceIdAllocator implements IdAllocator {
+
+    static final String SEQUENCE = "pulse_id_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int poolSize;
+    private long next;
+    private long limit;
+
+    public PooledSequenceIdAllocator(JdbcTemplate jdbcTemplate, int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Id pool size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.poolSize = poolSize;
+        // The schema is generated by Hibernate, which only knows about sequences it allocates from
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1 INCREMENT BY " + poolSize);
+    }
+
+    @Override
+    public synchronized long nextId() {
+        if (next == limit) {
+            next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+            limit = next + poolSize;
+        }
+        return next++;
+    }
+}
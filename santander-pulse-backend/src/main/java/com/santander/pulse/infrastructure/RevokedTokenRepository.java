@@ -0,0 +1,35 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for revoked JWT identifiers.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find revocations recorded after a watermark (incremental refresh)
+     */
+    List<RevokedToken> findByRevokedAtAfterOrderByRevokedAtAsc(LocalDateTime since);
+
+    /**
+     * Find revocations whose tokens have not expired yet (full rebuild)
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Delete revocations whose tokens have expired anyway
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,41 @@
+package com.santander.pulse.infrastructure;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normal form for searchable text: lower-cased, diacritics folded and whitespace collapsed,
+ * so "  Jo\u00e3o  da SILVA" and "joao da silva" compare equal. Search terms must go
+ * through the same normalization as the stored shadow columns they are matched against.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * LIKE pattern matching normalized text that contains the term anywhere
+     */
+    public static String containsPattern(String term) {
+        return term != null ? "%" + normalize(term) + "%" : null;
+    }
+
+    /**
+     * LIKE pattern matching normalized text that starts with the term; sargable on an index
+     */
+    public static String prefixPattern(String term) {
+        return term != null ? normalize(term) + "%" : null;
+    }
+}
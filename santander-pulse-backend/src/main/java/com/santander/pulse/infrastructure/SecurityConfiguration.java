@@ -13,8 +13,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -40,6 +40,8 @@ public class SecurityConfiguration {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final SecurityHeadersFilter securityHeadersFilter;
     private final HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoderFactory passwordEncoderFactory;
     private final String contextPath;
 
     private static final String[] PUBLIC_ENDPOINTS = {
@@ -61,6 +63,8 @@ public class SecurityConfiguration {
         @Lazy OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler,
         SecurityHeadersFilter securityHeadersFilter,
         HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository,
+        PasswordHashingExecutor passwordHashingExecutor,
+        PasswordEncoderFactory passwordEncoderFactory,
         @Value("${server.servlet.context-path:}") String contextPath
     ) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
@@ -69,12 +73,14 @@ public class SecurityConfiguration {
         this.oAuth2AuthenticationSuccessHandler = oAuth2AuthenticationSuccessHandler;
         this.securityHeadersFilter = securityHeadersFilter;
         this.authorizationRequestRepository = authorizationRequestRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.passwordEncoderFactory = passwordEncoderFactory;
         this.contextPath = contextPath != null ? contextPath.trim() : "";
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new BoundedPasswordEncoder(passwordEncoderFactory.create(), passwordHashingExecutor);
     }
 
     @Bean
@@ -83,6 +89,9 @@ public class SecurityConfiguration {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+            authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
         return authProvider;
     }
 
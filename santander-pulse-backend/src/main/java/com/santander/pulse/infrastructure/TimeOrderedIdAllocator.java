@@ -0,0 +1,63 @@
+package com.santander.pulse.infrastructure;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Snowflake-style ids: milliseconds since 2025-01-01, then the node id, then a per-millisecond
+ * sequence. Each node only ever emits its own node bits and its ids only ever grow, so nodes
+ * never collide and every insert lands at the right edge of the primary key index.
+ *
+ * The layout is 41 + 5 + 7 bits, so ids stay below 2^53 and JavaScript clients read them
+ * exactly. The state is a single AtomicLong of (millis, sequence), so allocation is one CAS.
+ * Ids are never taken from a millisecond the clock has not reached: once a millisecond's
+ * sequence runs out, or the clock steps back, callers wait for the clock to catch up. The state
+ * starts at zero on every boot, so running ahead of the clock would let a restarted node hand
+ * out ids it had already issued.
+ */
+public class TimeOrderedIdAllocator implements IdAllocator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final Clock clock;
+    private final long nodeBits;
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedIdAllocator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    TimeOrderedIdAllocator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.clock = clock;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long now = clock.millis() - EPOCH_MILLIS;
+            long last = lastTick.get();
+            long tick = Math.max(last + 1, now << SEQUENCE_BITS);
+            long ahead = (tick >>> SEQUENCE_BITS) - now;
+            if (ahead > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ahead));
+                continue;
+            }
+            if (lastTick.compareAndSet(last, tick)) {
+                long millis = tick >>> SEQUENCE_BITS;
+                return millis << (NODE_BITS + SEQUENCE_BITS) | nodeBits | tick & SEQUENCE_MASK;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.santander.pulse.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Lock-free keyed token bucket.
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA), so an
+ * acquire is one CAS with no lock and no allocation on the hot path. Buckets live in a
+ * size-bounded Caffeine map (internally striped); a bucket idle for a full refill period
+ * is back at capacity, so evicting it loses nothing.
+ */
+public class TokenBucketLimiter {
+
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(System.nanoTime());
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param capacity     requests allowed in a burst
+     * @param refillPeriod time for an empty bucket to refill completely
+     * @param maxEntries   upper bound on tracked keys
+     */
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, long maxEntries) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Token bucket capacity must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos))
+                .build();
+    }
+
+    /**
+     * Take one token for the key
+     *
+     * @return 0 when granted, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, NEW_BUCKET);
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,168 @@
+package com.santander.pulse.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.santander.pulse.domain.RevokedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for issued JWTs.
+ * Requests are checked against a Bloom filter of unexpired revocations; only a Bloom positive
+ * is confirmed against the revoked_tokens table, and those answers are kept in a bounded cache
+ * so a replayed or false-positive token does not query on every request. Memory is bounded by
+ * the filter size and the cache, however many tokens are revoked. Other nodes' revocations
+ * arrive through an incremental refresh by revoked_at.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+
+    // jti -> whether the table holds it, for Bloom positives already looked up
+    private final Cache<String, Boolean> lookups;
+    private volatile BloomFilter bloomFilter;
+    // Revocations made on this node while a rebuild is reading the table, added to the new filter
+    private volatile Set<String> revokedDuringRebuild;
+    private volatile LocalDateTime watermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.revocation.refresh-overlap:5s}") Duration refreshOverlap,
+            @Value("${jwt.revocation.lookup-cache.max-entries:10000}") long lookupCacheEntries,
+            @Value("${jwt.revocation.lookup-cache.ttl:10m}") Duration lookupCacheTtl
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.bloomFilter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        this.lookups = Caffeine.newBuilder()
+                .maximumSize(lookupCacheEntries)
+                .expireAfterWrite(lookupCacheTtl)
+                .build();
+    }
+
+    /**
+     * Revoke a verified token until its natural expiration
+     */
+    @Transactional
+    public void revoke(VerifiedToken token) {
+        String jti = token.tokenId();
+        if (jti == null || token.expiresAt() == null) {
+            logger.warn("Token for {} has no jti/exp claim and cannot be revoked", token.subject());
+            return;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault());
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, token.subject(), expiresAt, LocalDateTime.now()));
+        }
+        remember(jti);
+        logger.info("Token {} revoked for user {}", jti, token.subject());
+    }
+
+    /**
+     * Check whether a token id has been revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return lookups.get(jti, revokedTokenRepository::existsById);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        rebuild();
+    }
+
+    /**
+     * Pull revocations recorded by any node since the last watermark
+     */
+    @Scheduled(
+            fixedDelayString = "${jwt.revocation.refresh-interval:10s}",
+            initialDelayString = "${jwt.revocation.refresh-interval:10s}"
+    )
+    public void refresh() {
+        List<RevokedToken> recent = revokedTokenRepository
+                .findByRevokedAtAfterOrderByRevokedAtAsc(watermark.minus(refreshOverlap));
+        for (RevokedToken revoked : recent) {
+            remember(revoked.getJti());
+            advanceWatermark(revoked.getRevokedAt());
+        }
+        if (!recent.isEmpty()) {
+            logger.debug("Applied {} revocations from the revoked_tokens table", recent.size());
+        }
+    }
+
+    /**
+     * Delete expired revocations and rebuild the filter without them
+     */
+    @Scheduled(
+            fixedDelayString = "${jwt.revocation.purge-interval:1h}",
+            initialDelayString = "${jwt.revocation.purge-interval:1h}"
+    )
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        rebuild();
+        logger.info("Purged {} expired token revocations", purged);
+    }
+
+    /**
+     * Replace the filter with one holding only unexpired revocations. A revocation made here
+     * meanwhile may be missing from the rows read, so it is added again after the swap.
+     */
+    private synchronized void rebuild() {
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        revokedDuringRebuild = pending;
+        BloomFilter rebuilt = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            rebuilt.put(revoked.getJti());
+            advanceWatermark(revoked.getRevokedAt());
+        }
+        this.bloomFilter = rebuilt;
+        revokedDuringRebuild = null;
+        pending.forEach(rebuilt::put);
+    }
+
+    private void remember(String jti) {
+        Set<String> pending = revokedDuringRebuild;
+        if (pending != null) {
+            pending.add(jti);
+        }
+        bloomFilter.put(jti);
+        lookups.put(jti, true);
+    }
+
+    private synchronized void advanceWatermark(LocalDateTime revokedAt) {
+        if (revokedAt.isAfter(watermark)) {
+            this.watermark = revokedAt;
+        }
+    }
+}
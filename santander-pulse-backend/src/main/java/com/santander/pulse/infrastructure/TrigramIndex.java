@@ -0,0 +1,228 @@
+package com.santander.pulse.infrastructure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from case-folded character trigrams to sorted id posting lists.
+ * A substring search intersects the postings of the term's trigrams and then checks
+ * each survivor against the stored text, so results are exact rather than candidates.
+ * Terms shorter than three characters, or containing LIKE wildcards, are not searchable.
+ */
+public class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Whether search can answer the term; LIKE treats %, _ and \ specially, so those stay in SQL
+     */
+    public static boolean isSearchable(String term) {
+        if (term == null || term.length() < GRAM) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Index or re-index the text of a document
+     */
+    public void put(long id, String text) {
+        String folded = text != null ? fold(text) : null;
+        lock.writeLock().lock();
+        try {
+            String previous = folded != null ? documents.put(id, folded) : documents.remove(id);
+            if (previous != null && previous.equals(folded)) {
+                return;
+            }
+            if (previous != null) {
+                for (long gram : trigrams(previous)) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (folded != null) {
+                for (long gram : trigrams(folded)) {
+                    postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        put(id, null);
+    }
+
+    /**
+     * Ids, ascending, whose text contains the term ignoring case
+     *
+     * @throws IllegalArgumentException if the term is not searchable
+     */
+    public long[] search(String term) {
+        if (!isSearchable(term)) {
+            throw new IllegalArgumentException("Term is not searchable by trigram: " + term);
+        }
+        String folded = fold(term);
+        long[] grams = trigrams(folded);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return NO_IDS;
+                }
+            }
+            // Start from the rarest trigram so every later step only probes a short list
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            long[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = lists[i].retainAll(candidates, count);
+            }
+
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                String text = documents.get(candidates[i]);
+                if (text != null && text.contains(folded)) {
+                    candidates[matches++] = candidates[i];
+                }
+            }
+            return Arrays.copyOf(candidates, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersection of two ascending id arrays
+     */
+    public static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of already folded text, each packed as three UTF-16 units in a long
+     */
+    static long[] trigrams(String text) {
+        int count = text.length() - GRAM + 1;
+        if (count <= 0) {
+            return NO_IDS;
+        }
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == count ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Growable sorted id array; ids are mostly appended since new rows get increasing keys
+     */
+    private static final class Postings {
+
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            int at = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                at = -found - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found < 0) {
+                return false;
+            }
+            System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Compact the first count candidates down to those present here; returns the new count
+         */
+        int retainAll(long[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int found = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps in-memory user state in sync with the users table.
+ * Instantiated through Spring's bean container so it can hold collaborators.
+ */
+@Component
+public class UserChangeListener {
+
+    private final UserSecurityVersions securityVersions;
+    private final UserLookupCache userLookupCache;
+
+    public UserChangeListener(UserSecurityVersions securityVersions, UserLookupCache userLookupCache) {
+        this.securityVersions = securityVersions;
+        this.userLookupCache = userLookupCache;
+    }
+
+    @PostLoad
+    public void onLoad(User user) {
+        securityVersions.record(user.getUsername(), user.getSecurityVersion());
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(User user) {
+        securityVersions.record(user.getUsername(), user.getSecurityVersion());
+        userLookupCache.invalidate(user);
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        securityVersions.evict(user.getUsername());
+        userLookupCache.invalidate(user);
+    }
+}
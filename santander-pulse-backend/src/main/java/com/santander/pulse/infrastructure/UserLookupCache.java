@@ -0,0 +1,200 @@
+package com.santander.pulse.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.santander.pulse.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cache of loaded users indexed by CPF, username and email at the same time.
+ * One database load warms every key of the user; misses are remembered for a short
+ * negative TTL. Cached users are detached entities and must be treated as read-only.
+ */
+@Component
+public class UserLookupCache {
+
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+
+    private final Cache<String, Long> keyIndex;
+    private final Cache<Long, User> users;
+
+    public UserLookupCache(
+            MeterRegistry meterRegistry,
+            @Value("${pulse.user-cache.max-entries:10000}") long maxEntries,
+            @Value("${pulse.user-cache.ttl:10m}") Duration ttl,
+            @Value("${pulse.user-cache.negative-ttl:30s}") Duration negativeTtl
+    ) {
+        this.keyIndex = Caffeine.newBuilder()
+                .maximumSize(maxEntries * Key.values().length)
+                .expireAfter(new KeyExpiry(ttl, negativeTtl))
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users.details");
+    }
+
+    /**
+     * Look a user up under any of the given keys, loading and indexing it on a miss
+     */
+    public Optional<User> find(List<Key> keyTypes, String value, Supplier<Optional<User>> loader) {
+        if (value == null) {
+            return loader.get();
+        }
+
+        boolean allNegative = true;
+        for (Key keyType : keyTypes) {
+            Long id = keyIndex.getIfPresent(keyType.of(value));
+            if (id == null) {
+                allNegative = false;
+            } else if (id != NOT_FOUND) {
+                allNegative = false;
+                User cached = users.getIfPresent(id);
+                if (cached != null && keyType.matches(cached, value)) {
+                    return Optional.of(cached);
+                }
+            }
+        }
+        if (allNegative) {
+            return Optional.empty();
+        }
+
+        Optional<User> loaded = loader.get();
+        if (loaded.isPresent()) {
+            put(loaded.get());
+        } else {
+            keyTypes.forEach(keyType -> keyIndex.put(keyType.of(value), NOT_FOUND));
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop every key of the user now and again once the surrounding transaction commits,
+     * so concurrent readers cannot re-cache the pre-commit row.
+     */
+    public void invalidate(User user) {
+        evict(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(user);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop whatever is cached under a single key, for writes that bypass the entity listener
+     */
+    public void invalidate(Key keyType, String value) {
+        evict(keyType, value);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(keyType, value);
+                }
+            });
+        }
+    }
+
+    private void evict(Key keyType, String value) {
+        Long id = keyIndex.getIfPresent(keyType.of(value));
+        keyIndex.invalidate(keyType.of(value));
+        if (id != null && id != NOT_FOUND) {
+            User cached = users.getIfPresent(id);
+            if (cached != null) {
+                evict(cached);
+            }
+        }
+    }
+
+    private void put(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        users.put(user.getId(), user);
+        for (Key keyType : Key.values()) {
+            String value = keyType.valueOf(user);
+            if (value != null) {
+                keyIndex.put(keyType.of(value), user.getId());
+            }
+        }
+    }
+
+    private void evict(User user) {
+        if (user.getId() != null) {
+            users.invalidate(user.getId());
+        }
+        for (Key keyType : Key.values()) {
+            String value = keyType.valueOf(user);
+            if (value != null) {
+                keyIndex.invalidate(keyType.of(value));
+            }
+        }
+    }
+
+    /**
+     * Lookup keys a user is indexed under
+     */
+    public enum Key {
+        CPF, USERNAME, EMAIL;
+
+        String of(String value) {
+            return name() + ':' + value;
+        }
+
+        String valueOf(User user) {
+            return switch (this) {
+                case CPF -> user.getCpf();
+                case USERNAME -> user.getUsername();
+                case EMAIL -> user.getEmail();
+            };
+        }
+
+        boolean matches(User user, String value) {
+            return Objects.equals(valueOf(user), value);
+        }
+    }
+
+    private static final class KeyExpiry implements Expiry<String, Long> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private KeyExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Long id, long currentTime) {
+            return id == NOT_FOUND ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Long id, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, id, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Long id, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
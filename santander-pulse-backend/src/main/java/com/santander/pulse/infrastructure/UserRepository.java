@@ -2,6 +2,7 @@ package com.santander.pulse.infrastructure;
 
 import com.santander.pulse.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -69,6 +70,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role IN :roles AND u.enabled = true")
     List<User> findEnabledUsersByRoles(@Param("roles") List<User.Role> roles);
 
+    /**
+     * Create an external-identity user, or rename the existing account with that email,
+     * in one atomic statement. Returns the number of rows inserted or updated (0 when the
+     * account already exists under the same name). id is used only when a row is inserted.
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO users u
+            USING (VALUES (CAST(:email AS VARCHAR(100)), CAST(:fullName AS VARCHAR(100)),
+                           CAST(:provider AS VARCHAR(20)), CAST(:subject AS VARCHAR(255))))
+                AS s(email, full_name, auth_provider, external_subject)
+            ON u.email = s.email
+            WHEN MATCHED AND s.full_name IS NOT NULL AND u.full_name <> s.full_name THEN
+                UPDATE SET full_name = s.full_name, updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN
+                INSERT (id, username, email, password, full_name, role, auth_provider, external_subject,
+                        is_enabled, account_non_expired, account_non_locked, credentials_non_expired,
+                        security_version, created_at, updated_at)
+                VALUES (:id, s.email, s.email, NULL, COALESCE(s.full_name, :defaultName), 'USER',
+                        s.auth_provider, s.external_subject, TRUE, TRUE, TRUE, TRUE, 0,
+                        CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int upsertExternalUser(
+            @Param("id") long id,
+            @Param("email") String email,
+            @Param("fullName") String fullName,
+            @Param("defaultName") String defaultName,
+            @Param("provider") String provider,
+            @Param("subject") String subject
+    );
+
     /**
      * Count active users
      */
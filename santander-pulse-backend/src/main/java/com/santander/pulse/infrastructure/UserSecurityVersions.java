@@ -0,0 +1,55 @@
+package com.santander.pulse.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Last known security version stamp per username.
+ * Fed by user loads and writes on this node; entries expire after a short TTL so
+ * changes made by other nodes are picked up from the database within that window.
+ */
+@Component
+public class UserSecurityVersions {
+
+    private final Cache<String, Long> versions;
+
+    public UserSecurityVersions(
+            @Value("${jwt.principal.max-entries:50000}") long maxEntries,
+            @Value("${jwt.principal.version-ttl:5m}") Duration versionTtl
+    ) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(versionTtl)
+                .build();
+    }
+
+    /**
+     * Get the known security version for a username, or null when unknown
+     */
+    public Long current(String username) {
+        return username != null ? versions.getIfPresent(username) : null;
+    }
+
+    /**
+     * Check whether a token stamp matches the known version without touching the database
+     */
+    public boolean isCurrent(String username, Long tokenVersion) {
+        return tokenVersion != null && tokenVersion.equals(current(username));
+    }
+
+    public void record(String username, long version) {
+        if (username != null) {
+            versions.put(username, version);
+        }
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            versions.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.santander.pulse.infrastructure;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of a single signature-checked JWT parse.
+ * Lets callers read subject, expiry and claims without parsing the token again.
+ */
+public record VerifiedToken(
+    String subject,
+    Instant issuedAt,
+    Instant expiresAt,
+    Map<String, Object> claims
+) {
+
+    public VerifiedToken {
+        claims = claims == null
+            ? Map.of()
+            : Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    /**
+     * Check if the token is expired at the given instant
+     */
+    public boolean isExpiredAt(Instant instant) {
+        return expiresAt != null && expiresAt.isBefore(instant);
+    }
+
+    /**
+     * Unique token identifier (jti claim), or null for tokens issued without it
+     */
+    public String tokenId() {
+        Object jti = claims.get(Claims.ID);
+        return jti != null ? jti.toString() : null;
+    }
+
+    /**
+     * Granted authorities embedded at issue time, empty for tokens issued without them
+     */
+    public List<String> authorities() {
+        if (claims.get(JwtService.AUTHORITIES_CLAIM) instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Security version stamp embedded at issue time, or null for tokens issued without it
+     */
+    public Long securityVersion() {
+        if (claims.get(JwtService.SECURITY_VERSION_CLAIM) instanceof Number version) {
+            return version.longValue();
+        }
+        return null;
+    }
+
+    /**
+     * Get a single claim value, or null when absent
+     */
+    public Object claim(String name) {
+        return claims.get(name);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -99,6 +100,32 @@ class AuthControllerIT {
                             .content(payload))
                     .andExpect(status().isUnauthorized());
         }
+
+        @Test
+        @DisplayName("should re-encode a legacy BCrypt hash on successful login")
+        void shouldUpgradeLegacyHashOnLogin() throws Exception {
+            User legacyUser = new User("98765432100", "legado@santander.com",
+                    new BCryptPasswordEncoder(10).encode("password123"), "Usuário Legado");
+            legacyUser.setCpf("98765432100");
+            long securityVersion = userRepository.save(legacyUser).getSecurityVersion();
+
+            String payload = "{" +
+                    "\"cpf\":\"98765432100\"," +
+                    "\"password\":\"password123\"" +
+                    "}";
+
+            mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGIN_ENDPOINT)
+                            .contextPath(CONTEXT_PATH)
+                            .servletPath(AUTH_LOGIN_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payload))
+                    .andExpect(status().isOk());
+
+            User upgraded = userRepository.findByCpf("98765432100").orElseThrow();
+            assertThat(upgraded.getPassword()).startsWith("{bcrypt}$2a$12$");
+            assertThat(upgraded.getSecurityVersion()).isEqualTo(securityVersion);
+            assertThat(passwordEncoder.matches("password123", upgraded.getPassword())).isTrue();
+        }
     }
 
     @Test
@@ -0,0 +1,191 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Concurrent customer creation")
+class CustomerConcurrentCreationIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should create one customer per CPF and answer every concurrent duplicate with 409")
+    void shouldCollapseConcurrentDuplicateCpfs() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String cpf = cpf(round);
+            int seed = round;
+            List<MockHttpServletResponse> responses = createConcurrently(i ->
+                payload("Cliente Corrida " + seed, cpf, "corrida" + seed + "." + i + "@cliente.com"));
+
+            assertOneCreated(responses, "CPF already registered");
+            assertThat(customerRepository.findByCpf(cpf)).isPresent();
+        }
+        assertThat(customerRepository.count()).isEqualTo(ROUNDS);
+    }
+
+    @Test
+    @DisplayName("should still register a CPF whose concurrent in-flight create fails")
+    void shouldNotRefuseCpfForFailedCreate() throws Exception {
+        customerRepository.save(new Customer("Cliente Existente", cpf(300), "ocupado@cliente.com", "11999990000"));
+
+        for (int round = 0; round < ROUNDS; round++) {
+            String cpf = cpf(310 + round);
+            String freeEmail = "livre" + round + "@cliente.com";
+            // Half the requests carry a taken email and fail; whichever runs first, the CPF ends up registered
+            List<MockHttpServletResponse> responses = createConcurrently(i ->
+                payload("Cliente Falha", cpf, i % 2 == 0 ? "ocupado@cliente.com" : freeEmail));
+
+            assertThat(responses).filteredOn(response -> response.getStatus() == 201).hasSize(1);
+            assertThat(responses).allMatch(response -> response.getStatus() == 201 || response.getStatus() == 409);
+            assertThat(customerRepository.findByCpf(cpf)).get()
+                .extracting(Customer::getEmail).isEqualTo(freeEmail);
+        }
+    }
+
+    @Test
+    @DisplayName("should let the email constraint settle concurrent requests that differ only in CPF")
+    void shouldMapConcurrentDuplicateEmails() throws Exception {
+        List<MockHttpServletResponse> responses = createConcurrently(i ->
+            payload("Cliente Email " + i, cpf(100 + i), "disputado@cliente.com"));
+
+        assertOneCreated(responses, "Email already registered");
+        assertThat(customerRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should report which unique column an existing customer already holds")
+    void shouldMapExistingDuplicates() throws Exception {
+        customerRepository.save(new Customer("Cliente Existente", cpf(200), "existente@cliente.com", "11999990000"));
+
+        MockHttpServletResponse sameCpf = create(payload("Outro Nome", cpf(200), "novo@cliente.com"));
+        MockHttpServletResponse sameEmail = create(payload("Outro Nome", cpf(201), "existente@cliente.com"));
+
+        assertThat(sameCpf.getStatus()).isEqualTo(409);
+        assertThat(error(sameCpf)).isEqualTo("CPF already registered");
+        assertThat(sameEmail.getStatus()).isEqualTo(409);
+        assertThat(error(sameEmail)).isEqualTo("Email already registered");
+        assertThat(customerRepository.count()).isEqualTo(1);
+    }
+
+    private void assertOneCreated(List<MockHttpServletResponse> responses, String conflict) throws Exception {
+        int created = 0;
+        for (MockHttpServletResponse response : responses) {
+            if (response.getStatus() == 201) {
+                created++;
+            } else {
+                assertThat(response.getStatus()).isEqualTo(409);
+                assertThat(error(response)).isEqualTo(conflict);
+            }
+        }
+        assertThat(created).isEqualTo(1);
+    }
+
+    private List<MockHttpServletResponse> createConcurrently(IntFunction<String> payloads) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            String payload = payloads.apply(i);
+            futures.add(clients.submit(() -> {
+                start.await();
+                return create(payload);
+            }));
+        }
+        start.countDown();
+        clients.shutdown();
+        assertThat(clients.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (Future<MockHttpServletResponse> future : futures) {
+            responses.add(future.get());
+        }
+        return responses;
+    }
+
+    private MockHttpServletResponse create(String payload) throws Exception {
+        return mockMvc.perform(post(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .with(user("admin@santander.com").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload))
+            .andReturn()
+            .getResponse();
+    }
+
+    private String payload(String nome, String cpf, String email) {
+        return objectMapper.createObjectNode()
+            .put("nome", nome)
+            .put("cpf", cpf)
+            .put("email", email)
+            .put("telefone", "(11) 93333-4444")
+            .toString();
+    }
+
+    private String error(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsString()).get("error").asText();
+    }
+
+    /**
+     * A CPF with valid check digits built from a 9-digit base
+     */
+    private static String cpf(int seed) {
+        String base = String.format("%09d", 200_000_000 + seed * 7919);
+        int first = checkDigit(base, 10);
+        int second = checkDigit(base + first, 11);
+        return base + first + second;
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int digit = 11 - (sum % 11);
+        return digit >= 10 ? 0 : digit;
+    }
+}
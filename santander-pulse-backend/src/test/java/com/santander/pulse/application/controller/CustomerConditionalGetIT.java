@@ -0,0 +1,170 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer conditional GET")
+class CustomerConditionalGetIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customer = customerRepository.save(new Customer(
+            "Julia Ramos", "39053344705", "julia.ramos@santander.com", "(11) 91111-2222"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("should answer a poll for an unchanged customer with 304 from the version alone")
+    void shouldRevalidateSingleCustomer() throws Exception {
+        String eTag = mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT + "/" + customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isEqualTo("\"0\"");
+
+        statistics.clear();
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT + "/" + customer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(patch(CONTEXT_PATH + CUSTOMERS_ENDPOINT + "/" + customer.getId())
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT + "/" + customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"telefone\":\"(21) 95555-6666\"}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT + "/" + customer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    @DisplayName("should answer an unchanged listing page with 304 from the collection version alone")
+    void shouldRevalidateListingPage() throws Exception {
+        String eTag = mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        statistics.clear();
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT).param("cursor", "").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        mockMvc.perform(post(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Kleber Nunes\",\"cpf\":\"11144477735\",\"email\":\"kleber.nunes@santander.com\","
+                    + "\"telefone\":\"(11) 93333-4444\"}"))
+            .andExpect(status().isCreated());
+
+        String changed = mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("should stop answering 304 for the listing after writes made outside the application")
+    void shouldSeeDirectWritesInListingVersion() throws Exception {
+        String eTag = listingETag();
+
+        jdbcTemplate.update("UPDATE customers SET telefone = '(21) 97777-8888', updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+            customer.getId());
+        String updated = mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(updated).isNotEqualTo(eTag);
+
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, updated))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should not answer 304 for a customer that does not exist")
+    void shouldNotRevalidateMissingCustomer() throws Exception {
+        mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT + "/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotFound());
+    }
+
+    private String listingETag() throws Exception {
+        return mockMvc.perform(getRequest(CUSTOMERS_ENDPOINT))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+
+    private MockHttpServletRequestBuilder getRequest(String path) {
+        return get(CONTEXT_PATH + path)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(path);
+    }
+}
@@ -0,0 +1,129 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer keyset pagination")
+class CustomerCursorPaginationIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+
+        for (int i = 0; i < 23; i++) {
+            // Repeated names force the id tie-breaker to keep pages disjoint
+            Customer customer = new Customer(
+                "Cliente " + (char) ('A' + i % 7),
+                String.format("%011d", 20000000000L + i),
+                "cursor" + i + "@cliente.com",
+                "11999990000"
+            );
+            if (i % 5 == 0) {
+                customer.deactivate();
+            }
+            customerRepository.save(customer);
+        }
+    }
+
+    @Test
+    @DisplayName("should walk every active customer once in (nome, id) order")
+    void shouldWalkAllActiveCustomers() throws Exception {
+        List<Customer> expected = customerRepository.findActiveCustomers().stream()
+            .sorted(Comparator.comparing(Customer::getNome).thenComparing(Customer::getId))
+            .toList();
+
+        List<Long> seen = walk(request -> request.param("size", "4"));
+
+        assertThat(seen).containsExactlyElementsOf(expected.stream().map(Customer::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should walk descending by id with a status filter")
+    void shouldWalkDescendingById() throws Exception {
+        List<Long> expected = customerRepository.findByStatus(Customer.CustomerStatus.INATIVO).stream()
+            .map(Customer::getId)
+            .sorted(Comparator.reverseOrder())
+            .toList();
+
+        List<Long> seen = walk(request -> request
+            .param("size", "2")
+            .param("sortBy", "id")
+            .param("sortDir", "desc")
+            .param("status", "INATIVO"));
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("should reject malformed cursors and unsupported sort keys")
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(customers().param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(customers().param("cursor", "").param("sortBy", "telefone"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> walk(UnaryOperator<MockHttpServletRequestBuilder> params) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            String body = mockMvc.perform(params.apply(customers().param("cursor", cursor)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("customers").forEach(customer -> ids.add(customer.get("id").asLong()));
+            assertThat(page.has("totalElements")).isFalse();
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            assertThat(++pages).isLessThan(50);
+        }
+        return ids;
+    }
+
+    private MockHttpServletRequestBuilder customers() {
+        return get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(CUSTOMERS_ENDPOINT);
+    }
+}
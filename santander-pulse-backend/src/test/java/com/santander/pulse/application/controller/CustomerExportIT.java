@@ -0,0 +1,141 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer export")
+class CustomerExportIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String EXPORT_ENDPOINT = "/customers/export";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> activeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        activeIds.clear();
+        for (int i = 0; i < 25; i++) {
+            Customer customer = customerRepository.save(new Customer(
+                "Cliente Exporta\u00e7\u00e3o " + i,
+                String.format("%011d", 70000000000L + i),
+                "exportacao" + i + "@cliente.com",
+                "11999990000"));
+            activeIds.add(customer.getId());
+        }
+        Customer inactive = new Customer("Cliente Inativo", "70000000099", "inativo@cliente.com", "11999990000");
+        inactive.deactivate();
+        customerRepository.save(inactive);
+        customerRepository.save(new Customer("Silva, \"Ana\"", "70000000100", "ana@outro.com", "11999990000"));
+    }
+
+    @Test
+    @DisplayName("should stream active customers as NDJSON in id order")
+    void shouldExportNdjson() throws Exception {
+        String body = export(exportRequest().param("nome", "exportacao"));
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).extracting(row -> row.get("id").asLong()).containsExactlyElementsOf(activeIds);
+        assertThat(rows.get(0).get("nome").asText()).isEqualTo("Cliente Exporta\u00e7\u00e3o 0");
+        assertThat(rows.get(0).get("cpf").asText()).isEqualTo("70000000000");
+        assertThat(rows.get(0).get("status").asText()).isEqualTo("ATIVO");
+        assertThat(rows.get(0).has("createdAt")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should stream CSV with a header and quoted fields")
+    void shouldExportCsv() throws Exception {
+        String body = export(exportRequest().param("format", "csv").param("email", "@outro"));
+
+        assertThat(body.split("\n")).hasSize(2);
+        assertThat(body).startsWith("id,nome,cpf,email,telefone,status,createdAt,updatedAt,version\n");
+        assertThat(body).contains(",\"Silva, \"\"Ana\"\"\",70000000100,ana@outro.com,11999990000,ATIVO,");
+    }
+
+    @Test
+    @DisplayName("should apply the status filter like the listing")
+    void shouldFilterByStatus() throws Exception {
+        String body = export(exportRequest().param("status", "INATIVO"));
+
+        assertThat(body.split("\n")).hasSize(1);
+        assertThat(objectMapper.readTree(body).get("cpf").asText()).isEqualTo("70000000099");
+    }
+
+    @Test
+    @DisplayName("should give only the export response the long async timeout")
+    void shouldScopeTimeoutToExport() throws Exception {
+        MvcResult started = mockMvc.perform(exportRequest())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should reject unknown formats")
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(exportRequest().param("format", "xlsx"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private String export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", startsWith("attachment")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletRequestBuilder exportRequest() {
+        return get(CONTEXT_PATH + EXPORT_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(EXPORT_ENDPOINT);
+    }
+}
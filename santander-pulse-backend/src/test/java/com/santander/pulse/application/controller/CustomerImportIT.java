@@ -0,0 +1,223 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "pulse.customer-import.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer bulk import")
+class CustomerImportIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String IMPORT_ENDPOINT = "/customers/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerRepository.save(new Customer("Cliente Existente", cpf(1), "existente@cliente.com", "11999990000"));
+    }
+
+    @Test
+    @DisplayName("should insert valid rows and report the rest by line")
+    void shouldImportNdjson() throws Exception {
+        String body = String.join("\n",
+            json("Ana Importada", cpf(10), "ana@importada.com"),
+            json("Bruno Importado", "12345678900", "bruno@importada.com"),
+            json("Carla Importada", cpf(11), "carla@importada.com"),
+            json("Cliente Repetido", cpf(1), "repetido@importada.com"),
+            "{not json",
+            json("Carla Outra", cpf(11), "carla2@importada.com"),
+            json("Davi Importado", cpf(12), "existente@cliente.com"),
+            json("Elisa Importada", cpf(13), "elisa@importada.com"));
+
+        mockMvc.perform(importRequest("ndjson", body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(3))
+            .andExpect(jsonPath("$.rejected").value(5))
+            .andExpect(jsonPath("$.errorsTruncated").value(false))
+            .andExpect(jsonPath("$.errors[*].line", contains(2, 4, 5, 6, 7)))
+            .andExpect(jsonPath("$.errors[*].error", contains(
+                "Invalid CPF", "CPF already registered", "Malformed JSON",
+                "CPF already registered", "Email already registered")));
+
+        Customer ana = customerRepository.findByCpf(cpf(10)).orElseThrow();
+        assertThat(ana.getNome()).isEqualTo("Ana Importada");
+        assertThat(ana.getNomeSearch()).isEqualTo("ana importada");
+        assertThat(ana.getStatus()).isEqualTo(Customer.CustomerStatus.ATIVO);
+        assertThat(ana.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should reject a CPF already stored with punctuation, in either form")
+    void shouldRejectFormattedDuplicateCpf() throws Exception {
+        String digits = cpf(30);
+        String formatted = digits.substring(0, 3) + "." + digits.substring(3, 6) + "."
+            + digits.substring(6, 9) + "-" + digits.substring(9);
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, nome, cpf, email, telefone, status, nome_search, email_search, created_at, updated_at, version) "
+                + "VALUES (990003, 'Cliente Legado', ?, 'legado@cliente.com', '11999990000', 'ATIVO', "
+                + "'cliente legado', 'legado@cliente.com', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)",
+            formatted);
+
+        mockMvc.perform(importRequest("ndjson", String.join("\n",
+                json("Ana Importada", digits, "ana@importada.com"),
+                json("Carla Importada", cpf(31), "carla@importada.com"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.errors[*].line", contains(1)))
+            .andExpect(jsonPath("$.errors[*].error", contains("CPF already registered")));
+        mockMvc.perform(importRequest("ndjson", json("Bruno Importado", formatted, "bruno@importada.com")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.errors[*].error", contains("CPF already registered")));
+        assertThat(customerRepository.findByCpf(digits)).isEmpty();
+        assertThat(customerRepository.findByCpf(cpf(31))).isPresent();
+    }
+
+    @Test
+    @DisplayName("should settle a chunk row by row when it keeps colliding with concurrent writes")
+    void shouldRetryCollidingChunks() throws Exception {
+        doThrow(new DuplicateKeyException("concurrent insert"))
+            .doThrow(new DuplicateKeyException("concurrent insert"))
+            .doThrow(new DuplicateKeyException("concurrent insert"))
+            .doCallRealMethod()
+            .when(jdbcTemplate).update(any(PreparedStatementCreator.class));
+
+        mockMvc.perform(importRequest("ndjson", String.join("\n",
+                json("Ana Importada", cpf(10), "ana@importada.com"),
+                json("Bruno Importado", cpf(11), "bruno@importada.com"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(0));
+        assertThat(customerRepository.findByCpf(cpf(11))).isPresent();
+    }
+
+    @Test
+    @DisplayName("should report rows that never stop colliding instead of failing the import")
+    void shouldReportPersistentCollisions() throws Exception {
+        doThrow(new DuplicateKeyException("concurrent insert"))
+            .when(jdbcTemplate).update(any(PreparedStatementCreator.class));
+
+        mockMvc.perform(importRequest("ndjson", String.join("\n",
+                json("Ana Importada", cpf(10), "ana@importada.com"),
+                json("Bruno Importado", cpf(11), "bruno@importada.com"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.errors[*].line", contains(1, 2)))
+            .andExpect(jsonPath("$.errors[*].error", contains(
+                "Conflicts with a customer created concurrently", "Conflicts with a customer created concurrently")));
+    }
+
+    @Test
+    @DisplayName("should import CSV with quoted fields, a status column and unknown columns")
+    void shouldImportCsv() throws Exception {
+        String body = "id,nome,cpf,email,telefone,status,createdAt\n"
+            + "99,\"Silva, \"\"Ana\"\"\"," + cpf(20) + ",silva@importada.com,(11) 98888-7777,INATIVO,2020-01-01\n"
+            + "\n"
+            + "98,Jo\u00e3o Importado," + cpf(21) + ",joao@importada.com,11999990000,,\n"
+            + "97,Telefone Ruim," + cpf(22) + ",ruim@importada.com,123,ATIVO,\n";
+
+        mockMvc.perform(importRequest("csv", body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(5))
+            .andExpect(jsonPath("$.errors[0].error").value("Invalid telefone"));
+
+        assertThat(customerRepository.findByCpf(cpf(20)).orElseThrow().getStatus())
+            .isEqualTo(Customer.CustomerStatus.INATIVO);
+        assertThat(customerRepository.findByCpf(cpf(20)).orElseThrow().getNome()).isEqualTo("Silva, \"Ana\"");
+    }
+
+    @Test
+    @DisplayName("should make imported customers searchable right away")
+    void shouldIndexImportedCustomers() throws Exception {
+        mockMvc.perform(importRequest("ndjson", json("Zuleica Importada", cpf(30), "zuleica@importada.com")))
+            .andExpect(jsonPath("$.imported").value(1));
+
+        mockMvc.perform(get(CONTEXT_PATH + "/customers").contextPath(CONTEXT_PATH).servletPath("/customers")
+                .param("nome", "uleic"))
+            .andExpect(jsonPath("$.customers[*].cpf", contains(cpf(30))));
+        mockMvc.perform(get(CONTEXT_PATH + "/customers/suggest").contextPath(CONTEXT_PATH).servletPath("/customers/suggest")
+                .param("q", "zule"))
+            .andExpect(jsonPath("$.suggestions[*].cpf", contains(cpf(30))));
+    }
+
+    @Test
+    @DisplayName("should reject unknown formats and CSV without the required columns")
+    void shouldRejectInvalidUploads() throws Exception {
+        mockMvc.perform(importRequest("xlsx", ""))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(importRequest("csv", "nome,cpf\nAna," + cpf(40) + "\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("CSV header must name the nome, cpf, email and telefone columns"));
+    }
+
+    private static String json(String nome, String cpf, String email) {
+        return "{\"nome\":\"" + nome + "\",\"cpf\":\"" + cpf + "\",\"email\":\"" + email
+            + "\",\"telefone\":\"11999990000\"}";
+    }
+
+    /**
+     * A CPF with valid check digits built from a 9-digit base
+     */
+    private static String cpf(int seed) {
+        String base = String.format("%09d", 100_000_000 + seed * 7919);
+        int first = checkDigit(base, 10);
+        int second = checkDigit(base + first, 11);
+        return base + first + second;
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int digit = 11 - (sum % 11);
+        return digit >= 10 ? 0 : digit;
+    }
+
+    private MockHttpServletRequestBuilder importRequest(String format, String body) {
+        return post(CONTEXT_PATH + IMPORT_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(IMPORT_ENDPOINT)
+            .param("format", format)
+            .contentType(format.equals("csv") ? "text/csv" : "application/x-ndjson")
+            .content(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer listing count modes")
+class CustomerListingCountModesIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            saveCustomer(i);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep the exact total by default")
+    void shouldReportExactTotalByDefault() throws Exception {
+        mockMvc.perform(customers().param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalType").value("exact"))
+            .andExpect(jsonPath("$.totalElements").value(5))
+            .andExpect(jsonPath("$.totalPages").value(3))
+            .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("should list the same customer fields as the single-customer endpoint")
+    void shouldListFullCustomerFields() throws Exception {
+        mockMvc.perform(customers().param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers[0].id").isNumber())
+            .andExpect(jsonPath("$.customers[0].nome").value("Cliente Contagem 0"))
+            .andExpect(jsonPath("$.customers[0].cpf").value("30000000000"))
+            .andExpect(jsonPath("$.customers[0].email").value("contagem0@cliente.com"))
+            .andExpect(jsonPath("$.customers[0].telefone").value("11999990000"))
+            .andExpect(jsonPath("$.customers[0].status").value("ATIVO"))
+            .andExpect(jsonPath("$.customers[0].createdAt").isNotEmpty())
+            .andExpect(jsonPath("$.customers[0].updatedAt").isNotEmpty())
+            .andExpect(jsonPath("$.customers[0].version").value(0));
+    }
+
+    @Test
+    @DisplayName("should answer hasNext without a total when counting is off")
+    void shouldOmitTotalWithoutCount() throws Exception {
+        mockMvc.perform(customers().param("size", "2").param("page", "2").param("count", "none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalType").value("none"))
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.customers.length()").value(1))
+            .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("should reuse a cached total for the same filter in any letter case")
+    void shouldServeCachedTotal() throws Exception {
+        mockMvc.perform(customers().param("count", "cached").param("nome", "contagem"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalType").value("cached"))
+            .andExpect(jsonPath("$.totalElements").value(5));
+
+        saveCustomer(5);
+
+        mockMvc.perform(customers().param("count", "cached").param("nome", "CONTAGEM"))
+            .andExpect(jsonPath("$.totalElements").value(5));
+        mockMvc.perform(customers().param("nome", "contagem"))
+            .andExpect(jsonPath("$.totalElements").value(6));
+    }
+
+    @Test
+    @DisplayName("should reject unknown count modes")
+    void shouldRejectUnknownCountMode() throws Exception {
+        mockMvc.perform(customers().param("count", "approximate"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should reject sort keys without a supporting index")
+    void shouldRejectUnsupportedSortKey() throws Exception {
+        mockMvc.perform(customers().param("sortBy", "telefone"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("sortBy must be one of nome, createdAt or id"));
+        mockMvc.perform(customers().param("sortBy", "createdAt").param("sortDir", "desc"))
+            .andExpect(status().isOk());
+    }
+
+    private void saveCustomer(int i) {
+        customerRepository.save(new Customer(
+            "Cliente Contagem " + i,
+            String.format("%011d", 30000000000L + i),
+            "contagem" + i + "@cliente.com",
+            "11999990000"
+        ));
+    }
+
+    private MockHttpServletRequestBuilder customers() {
+        return get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(CUSTOMERS_ENDPOINT);
+    }
+}
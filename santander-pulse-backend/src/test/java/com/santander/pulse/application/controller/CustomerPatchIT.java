@@ -0,0 +1,152 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer partial update")
+class CustomerPatchIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customer = customerRepository.save(new Customer(
+            "Helena Prado", "39053344705", "helena.prado@santander.com", "(11) 91111-2222"));
+        customerRepository.save(new Customer(
+            "Igor Teixeira", "11144477735", "igor.teixeira@santander.com", "(11) 93333-4444"));
+    }
+
+    @Test
+    @DisplayName("should change only the supplied fields and bump the version")
+    void shouldPatchSuppliedFieldsOnly() throws Exception {
+        mockMvc.perform(patchRequest(customer.getId(), "{\"telefone\":\"(21) 95555-6666\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.telefone").value("(21) 95555-6666"))
+            .andExpect(jsonPath("$.nome").value("Helena Prado"))
+            .andExpect(jsonPath("$.version").value(1));
+
+        Customer patched = customerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(patched.getTelefone()).isEqualTo("(21) 95555-6666");
+        assertThat(patched.getEmail()).isEqualTo("helena.prado@santander.com");
+        assertThat(patched.getStatus()).isEqualTo(Customer.CustomerStatus.ATIVO);
+        assertThat(patched.getVersion()).isEqualTo(1);
+        assertThat(patched.getUpdatedAt()).isAfterOrEqualTo(customer.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("should reject a stale If-Match with 412 so the second operator cannot overwrite the first")
+    void shouldPreventLostUpdates() throws Exception {
+        String readByBoth = "\"" + customer.getVersion() + "\"";
+
+        mockMvc.perform(patchRequest(customer.getId(), "{\"nome\":\"Helena Prado Lima\"}")
+                .header(HttpHeaders.IF_MATCH, readByBoth))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(patchRequest(customer.getId(), "{\"nome\":\"Helena Souza\"}")
+                .header(HttpHeaders.IF_MATCH, readByBoth))
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getNome()).isEqualTo("Helena Prado Lima");
+
+        mockMvc.perform(patchRequest(customer.getId(), "{\"nome\":\"Helena Souza\"}")
+                .header(HttpHeaders.IF_MATCH, "\"1\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should treat weak or malformed If-Match values as never matching, and * as any version")
+    void shouldInterpretIfMatch() throws Exception {
+        mockMvc.perform(patchRequest(customer.getId(), "{\"status\":\"INATIVO\"}")
+                .header(HttpHeaders.IF_MATCH, "W/\"0\""))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patchRequest(customer.getId(), "{\"status\":\"INATIVO\"}")
+                .header(HttpHeaders.IF_MATCH, "\"abc\""))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patchRequest(customer.getId(), "{\"status\":\"INATIVO\"}")
+                .header(HttpHeaders.IF_MATCH, "*"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("INATIVO"));
+    }
+
+    @Test
+    @DisplayName("should answer 404 for unknown customers and 400 for an empty patch")
+    void shouldRejectUnknownCustomerAndEmptyPatch() throws Exception {
+        mockMvc.perform(patchRequest(999_999L, "{\"telefone\":\"(21) 95555-6666\"}"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(patchRequest(999_999L, "{\"telefone\":\"(21) 95555-6666\"}")
+                .header(HttpHeaders.IF_MATCH, "\"0\""))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(patchRequest(customer.getId(), "{}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(patchRequest(customer.getId(), "{\"email\":\"not-an-email\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should map a taken email to 409")
+    void shouldRejectTakenEmail() throws Exception {
+        mockMvc.perform(patchRequest(customer.getId(), "{\"email\":\"igor.teixeira@santander.com\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("Email already registered"));
+
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep search in step with a patched name")
+    void shouldReindexPatchedName() throws Exception {
+        mockMvc.perform(patchRequest(customer.getId(), "{\"nome\":\"Helena Concei\u00e7\u00e3o\"}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT).contextPath(CONTEXT_PATH).servletPath(CUSTOMERS_ENDPOINT)
+                .param("nome", "conceicao"))
+            .andExpect(jsonPath("$.customers[*].id", contains(customer.getId())));
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getNomeSearch())
+            .isEqualTo("helena conceicao");
+    }
+
+    private MockHttpServletRequestBuilder patchRequest(Long id, String body) {
+        String path = CUSTOMERS_ENDPOINT + "/" + id;
+        return patch(CONTEXT_PATH + path)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+    }
+}
@@ -0,0 +1,140 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import com.santander.pulse.infrastructure.CustomerStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer statistics")
+class CustomerStatisticsIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerStatistics customerStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerStatistics.reconcile();
+    }
+
+    @Test
+    @DisplayName("should follow creates, status changes and deletes without querying the table")
+    void shouldTrackWrites() throws Exception {
+        Customer existing = customerRepository.save(new Customer(
+            "Lara Mendes", "39053344705", "lara.mendes@santander.com", "(11) 91111-2222"));
+        mockMvc.perform(post(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Mauro Pires\",\"cpf\":\"11144477735\",\"email\":\"mauro.pires@santander.com\","
+                    + "\"telefone\":\"(11) 93333-4444\"}"))
+            .andExpect(status().isCreated());
+        assertStats(2, 2, 0, 2);
+
+        String path = CUSTOMERS_ENDPOINT + "/" + existing.getId();
+        mockMvc.perform(patch(CONTEXT_PATH + path).contextPath(CONTEXT_PATH).servletPath(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"SUSPENSO\"}"))
+            .andExpect(status().isOk());
+        assertStats(2, 1, 0, 2);
+
+        mockMvc.perform(put(CONTEXT_PATH + path).contextPath(CONTEXT_PATH).servletPath(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Lara Mendes\",\"cpf\":\"39053344705\",\"email\":\"lara.mendes@santander.com\","
+                    + "\"telefone\":\"(11) 91111-2222\",\"status\":\"ATIVO\"}"))
+            .andExpect(status().isOk());
+        assertStats(2, 2, 0, 2);
+
+        mockMvc.perform(delete(CONTEXT_PATH + path).contextPath(CONTEXT_PATH).servletPath(path))
+            .andExpect(status().isOk());
+        assertStats(2, 1, 1, 2);
+
+        customerRepository.deleteById(existing.getId());
+        assertStats(1, 1, 0, 1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        getStats().andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should pick up writes it did not see on reconciliation, and only count recent signups")
+    void shouldReconcileWithTable() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        insertDirectly(1L, "39053344705", "INATIVO", now);
+        insertDirectly(2L, "11144477735", "ATIVO", now.minusDays(45));
+        assertStats(0, 0, 0, 0);
+
+        customerStatistics.reconcile();
+        assertStats(2, 1, 1, 1);
+    }
+
+    private void insertDirectly(long id, String cpf, String status, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, nome, cpf, email, telefone, status, nome_search, email_search, created_at, updated_at, version) "
+                + "VALUES (?, 'Cliente', ?, ?, '(11) 95555-6666', ?, 'cliente', ?, ?, ?, 0)",
+            id, cpf, cpf + "@santander.com", status, cpf + "@santander.com",
+            Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    private void assertStats(long total, long active, long inactive, long recent) throws Exception {
+        getStats()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalCustomers").value(total))
+            .andExpect(jsonPath("$.activeCustomers").value(active))
+            .andExpect(jsonPath("$.inactiveCustomers").value(inactive))
+            .andExpect(jsonPath("$.recentCustomers").value(recent));
+    }
+
+    private ResultActions getStats() throws Exception {
+        return mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT + "/stats")
+            .contextPath(CONTEXT_PATH)
+            .servletPath(CUSTOMERS_ENDPOINT + "/stats"));
+    }
+}
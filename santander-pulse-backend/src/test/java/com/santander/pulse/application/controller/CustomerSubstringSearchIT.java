@@ -0,0 +1,175 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import com.santander.pulse.infrastructure.CustomerSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer substring search")
+class CustomerSubstringSearchIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerRepository.save(new Customer("Beatriz Andrade", "30000000001", "bia.andrade@cliente.com", "11999990000"));
+        customerRepository.save(new Customer("Bernardo Andrade", "30000000002", "bernardo@empresa.com", "11999990000"));
+        customerRepository.save(new Customer("Tereza Lopes", "30000000003", "tereza@cliente.com", "11999990000"));
+        Customer inactive = new Customer("Andressa Prado", "30000000004", "andressa@cliente.com", "11999990000");
+        inactive.deactivate();
+        customerRepository.save(inactive);
+    }
+
+    @Test
+    @DisplayName("should answer nome and email substrings through the index")
+    void shouldSearchThroughIndex() throws Exception {
+        assertThat(customerSearchIndex.candidates("andrade", null)).hasValueSatisfying(ids -> assertThat(ids).hasSize(2));
+
+        mockMvc.perform(customers().param("nome", "ANDRADE").param("email", "cliente"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade")));
+
+        // The status filter still applies to index candidates
+        mockMvc.perform(customers().param("nome", "andr"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade", "Bernardo Andrade")));
+        mockMvc.perform(customers().param("nome", "andr").param("status", "INATIVO"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Andressa Prado")));
+    }
+
+    @Test
+    @DisplayName("should see renames and deletions immediately")
+    void shouldFollowWrites() throws Exception {
+        Customer tereza = customerRepository.findByCpf("30000000003").orElseThrow();
+        tereza.setNome("Tereza Andrade");
+        customerRepository.save(tereza);
+        customerRepository.delete(customerRepository.findByCpf("30000000002").orElseThrow());
+
+        mockMvc.perform(customers().param("nome", "andrade"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade", "Tereza Andrade")));
+        mockMvc.perform(customers().param("nome", "lopes"))
+            .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @DisplayName("should keep the committed text when a flushed rename rolls back")
+    void shouldIgnoreRolledBackWrites() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            Customer tereza = customerRepository.findByCpf("30000000003").orElseThrow();
+            tereza.setNome("Tereza Andrade");
+            customerRepository.saveAndFlush(tereza);
+            tx.setRollbackOnly();
+        });
+
+        mockMvc.perform(customers().param("nome", "lopes"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Tereza Lopes")));
+        assertThat(customerSearchIndex.candidates("andrade", null)).hasValueSatisfying(ids -> assertThat(ids).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("should catch up with rows written without the entity")
+    void shouldCatchUpWithDirectWrites() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, nome, cpf, email, telefone, status, nome_search, email_search, created_at, updated_at, version) "
+                + "VALUES (990001, 'Vitoria Andrade', '30000000009', 'vitoria@cliente.com', '11999990000', 'ATIVO', "
+                + "'vitoria andrade', 'vitoria@cliente.com', ?, ?, 0)",
+            now, now);
+        jdbcTemplate.update("UPDATE customers SET nome = 'Tereza Andrade', nome_search = 'tereza andrade', updated_at = ? "
+            + "WHERE cpf = '30000000003'", now);
+
+        customerSearchIndex.catchUp();
+
+        assertThat(customerSearchIndex.candidates("andrade", null)).hasValueSatisfying(ids -> assertThat(ids).hasSize(4));
+        mockMvc.perform(customers().param("nome", "andrade"))
+            .andExpect(jsonPath("$.customers[*].nome",
+                contains("Beatriz Andrade", "Bernardo Andrade", "Tereza Andrade", "Vitoria Andrade")));
+    }
+
+    @Test
+    @DisplayName("should fall back to the LIKE query for short or wildcard terms")
+    void shouldFallBackForUnindexableTerms() throws Exception {
+        assertThat(customerSearchIndex.candidates("ad", null)).isEmpty();
+
+        mockMvc.perform(customers().param("nome", "ad"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade", "Bernardo Andrade")));
+        mockMvc.perform(customers().param("email", "and_ade"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade")));
+    }
+
+    @Test
+    @DisplayName("should match names ignoring accents, case and extra spaces")
+    void shouldMatchAccentInsensitively() throws Exception {
+        customerRepository.save(new Customer("Jo\u00e3o  Concei\u00e7\u00e3o", "30000000005", "joao@cliente.com", "11999990000"));
+
+        mockMvc.perform(customers().param("nome", "joao conceicao"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Jo\u00e3o  Concei\u00e7\u00e3o")));
+        mockMvc.perform(customers().param("nome", "CONCEI\u00c7\u00c3O"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+        // Two-letter terms skip the index and go through the normalized column in SQL
+        mockMvc.perform(customers().param("nome", "jo\u00e3"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("should match only at the start of the value with match=prefix")
+    void shouldMatchPrefix() throws Exception {
+        mockMvc.perform(customers().param("nome", "andr").param("match", "prefix").param("status", "INATIVO"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Andressa Prado")));
+        mockMvc.perform(customers().param("nome", "andrade").param("match", "prefix"))
+            .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(customers().param("email", "BIA.").param("match", "prefix"))
+            .andExpect(jsonPath("$.customers[*].nome", contains("Beatriz Andrade")));
+
+        mockMvc.perform(customers().param("match", "fuzzy"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder customers() {
+        return get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(CUSTOMERS_ENDPOINT);
+    }
+}
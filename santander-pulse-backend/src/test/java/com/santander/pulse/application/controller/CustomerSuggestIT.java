@@ -0,0 +1,118 @@
+package com.santander.pulse.application.controller;
+
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import com.santander.pulse.infrastructure.CustomerSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@santander.com", roles = {"ADMIN"})
+@DisplayName("Customer suggestions")
+class CustomerSuggestIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String SUGGEST_ENDPOINT = "/customers/suggest";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSuggestionIndex customerSuggestionIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerRepository.save(new Customer("Jo\u00e3o Silva Santos", "40000000001", "joao.santos@cliente.com", "11999990000"));
+        customerRepository.save(new Customer("Joana Prado", "40000000002", "jprado@cliente.com", "11999990000"));
+        customerRepository.save(new Customer("Marcos Silveira", "50000000003", "marcos@cliente.com", "11999990000"));
+    }
+
+    @Test
+    @DisplayName("should suggest by any name word, email local-part or CPF prefix")
+    void shouldSuggestByPrefix() throws Exception {
+        mockMvc.perform(suggest("jo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.suggestions[*].nome", contains("Joana Prado", "Jo\u00e3o Silva Santos")));
+        mockMvc.perform(suggest("SILV"))
+            .andExpect(jsonPath("$.suggestions[*].nome", contains("Jo\u00e3o Silva Santos", "Marcos Silveira")));
+        mockMvc.perform(suggest("jpra"))
+            .andExpect(jsonPath("$.suggestions[*].nome", contains("Joana Prado")));
+        mockMvc.perform(suggest("400.000"))
+            .andExpect(jsonPath("$.suggestions[*].cpf", contains("40000000001", "40000000002")));
+        mockMvc.perform(suggest("jo").param("limit", "1"))
+            .andExpect(jsonPath("$.suggestions.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("should match a CPF stored with punctuation by its digits")
+    void shouldSuggestFormattedCpf() throws Exception {
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, nome, cpf, email, telefone, status, nome_search, email_search, created_at, updated_at, version) "
+                + "VALUES (990002, 'Renata Costa', '390.533.447-05', 'renata@cliente.com', '11999990000', 'ATIVO', "
+                + "'renata costa', 'renata@cliente.com', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)");
+        customerSuggestionIndex.load();
+
+        mockMvc.perform(suggest("390.533"))
+            .andExpect(jsonPath("$.suggestions[*].nome", contains("Renata Costa")));
+        mockMvc.perform(suggest("39053344705"))
+            .andExpect(jsonPath("$.suggestions[*].cpf", contains("390.533.447-05")));
+    }
+
+    @Test
+    @DisplayName("should apply renames and deactivations as they happen")
+    void shouldFollowWrites() throws Exception {
+        Customer joana = customerRepository.findByCpf("40000000002").orElseThrow();
+        joana.setNome("Joana Xavier");
+        customerRepository.save(joana);
+        Customer marcos = customerRepository.findByCpf("50000000003").orElseThrow();
+        marcos.deactivate();
+        customerRepository.save(marcos);
+
+        mockMvc.perform(suggest("prado"))
+            .andExpect(jsonPath("$.suggestions", empty()));
+        mockMvc.perform(suggest("xav"))
+            .andExpect(jsonPath("$.suggestions[*].nome", contains("Joana Xavier")));
+        mockMvc.perform(suggest("marcos"))
+            .andExpect(jsonPath("$.suggestions", empty()));
+    }
+
+    @Test
+    @DisplayName("should reject blank queries and out-of-range limits")
+    void shouldValidateParameters() throws Exception {
+        mockMvc.perform(suggest(" "))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(suggest("jo").param("limit", "500"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder suggest(String query) {
+        return get(CONTEXT_PATH + SUGGEST_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(SUGGEST_ENDPOINT)
+            .param("q", query);
+    }
+}
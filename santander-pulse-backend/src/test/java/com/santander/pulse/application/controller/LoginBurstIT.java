@@ -0,0 +1,177 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.domain.User;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import com.santander.pulse.infrastructure.JwtService;
+import com.santander.pulse.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+    "pulse.security.password-hashing.pool-size=1",
+    "pulse.security.password-hashing.queue-capacity=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Login burst backpressure")
+class LoginBurstIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginBurstIT.class);
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String AUTH_LOGIN_ENDPOINT = "/auth/login";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+    private static final String CPF = "52998224725";
+    private static final int CONCURRENT_LOGINS = 16;
+    private static final Duration MAX_READ_P95 = Duration.ofSeconds(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User operator = new User(CPF, "rajada@santander.com", passwordEncoder.encode("password123"), "Operador Rajada");
+        operator.setCpf(CPF);
+        accessToken = jwtService.generateToken(userRepository.save(operator));
+
+        for (int i = 0; i < 20; i++) {
+            customerRepository.save(new Customer(
+                "Cliente Rajada " + i,
+                String.format("%011d", 10000000000L + i),
+                "rajada" + i + "@cliente.com",
+                "11999990000"
+            ));
+        }
+    }
+
+    @Test
+    @DisplayName("should shed excess logins with 503 while customer reads keep flowing")
+    void shouldShedExcessLoginsWithoutStarvingReads() throws Exception {
+        readLatencies(10);
+        List<Long> baseline = readLatencies(20);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_LOGINS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> logins = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+            logins.add(clients.submit(() -> {
+                start.await();
+                return login();
+            }));
+        }
+
+        start.countDown();
+        List<Long> duringBurst = new ArrayList<>();
+        while (logins.stream().anyMatch(login -> !login.isDone())) {
+            duringBurst.addAll(readLatencies(1));
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int succeeded = 0;
+        int shed = 0;
+        for (Future<MockHttpServletResponse> login : logins) {
+            MockHttpServletResponse response = login.get();
+            if (response.getStatus() == 200) {
+                succeeded++;
+            } else {
+                assertThat(response.getStatus()).isEqualTo(503);
+                assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotBlank();
+                shed++;
+            }
+        }
+
+        logger.info("Login burst: {} succeeded, {} shed; customer GET p95 {} ms before, {} ms during ({} reads)",
+            succeeded, shed, p95(baseline) / 1_000_000, p95(duringBurst) / 1_000_000, duringBurst.size());
+
+        assertThat(succeeded).isPositive();
+        assertThat(shed).isPositive();
+        assertThat(Duration.ofNanos(p95(duringBurst))).isLessThan(MAX_READ_P95);
+    }
+
+    private MockHttpServletResponse login() throws Exception {
+        String payload = objectMapper.createObjectNode()
+            .put("cpf", CPF)
+            .put("password", "password123")
+            .toString();
+
+        return mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGIN_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(AUTH_LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload))
+            .andReturn()
+            .getResponse();
+    }
+
+    private List<Long> readLatencies(int reads) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < reads; i++) {
+            long started = System.nanoTime();
+            int status = mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                    .contextPath(CONTEXT_PATH)
+                    .servletPath(CUSTOMERS_ENDPOINT)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+            latencies.add(System.nanoTime() - started);
+            assertThat(status).isEqualTo(200);
+        }
+        return latencies;
+    }
+
+    private static long p95(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+    }
+}
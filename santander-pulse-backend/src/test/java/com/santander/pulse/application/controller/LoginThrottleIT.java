@@ -0,0 +1,94 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.User;
+import com.santander.pulse.infrastructure.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "pulse.security.login-throttle.principal.capacity=2",
+    "pulse.security.login-throttle.principal.refill-period=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Login throttling")
+class LoginThrottleIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String AUTH_LOGIN_ENDPOINT = "/auth/login";
+    private static final String CPF = "11144477735";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User operator = new User(CPF, "limite@santander.com", passwordEncoder.encode("password123"), "Operador Limite");
+        operator.setCpf(CPF);
+        userRepository.save(operator);
+    }
+
+    @Test
+    @DisplayName("should answer 429 without hashing once the principal bucket is empty")
+    void shouldRejectBeforeHashing() throws Exception {
+        login("wrongpass").andExpect(status().isUnauthorized());
+        login("wrongpass").andExpect(status().isUnauthorized());
+        double verifications = passwordVerifications();
+
+        login("password123")
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        assertThat(passwordVerifications()).isEqualTo(verifications);
+        assertThat(meterRegistry.get("auth.login.throttled").tag("scope", "principal").counter().count())
+            .isGreaterThanOrEqualTo(1.0);
+    }
+
+    private double passwordVerifications() {
+        return meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count();
+    }
+
+    private ResultActions login(String password) throws Exception {
+        String payload = objectMapper.createObjectNode()
+            .put("cpf", CPF)
+            .put("password", password)
+            .toString();
+
+        return mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGIN_ENDPOINT)
+            .contextPath(CONTEXT_PATH)
+            .servletPath(AUTH_LOGIN_ENDPOINT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(payload));
+    }
+}
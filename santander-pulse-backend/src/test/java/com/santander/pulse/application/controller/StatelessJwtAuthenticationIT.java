@@ -0,0 +1,114 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.User;
+import com.santander.pulse.infrastructure.CustomUserDetailsService;
+import com.santander.pulse.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Stateless JWT authentication")
+class StatelessJwtAuthenticationIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String AUTH_LOGIN_ENDPOINT = "/auth/login";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+    private static final String CPF = "52998224725";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoSpyBean
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User operator = new User(CPF, "operador@santander.com", passwordEncoder.encode("password123"), "Operador Teste");
+        operator.setCpf(CPF);
+        userRepository.save(operator);
+    }
+
+    @Test
+    @DisplayName("should authenticate from token claims without loading the user per request")
+    void shouldAuthenticateWithoutUserLookup() throws Exception {
+        String accessToken = login();
+        clearInvocations(userDetailsService);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                    .contextPath(CONTEXT_PATH)
+                    .servletPath(CUSTOMERS_ENDPOINT)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        }
+
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("should reject tokens issued before a role change")
+    void shouldRejectTokenAfterRoleChange() throws Exception {
+        String accessToken = login();
+
+        User operator = userRepository.findByCpf(CPF).orElseThrow();
+        operator.setRole(User.Role.MANAGER);
+        userRepository.save(operator);
+
+        mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private String login() throws Exception {
+        String payload = objectMapper.createObjectNode()
+            .put("cpf", CPF)
+            .put("password", "password123")
+            .toString();
+
+        String body = mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGIN_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(AUTH_LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        return objectMapper.readTree(body).get("accessToken").asText();
+    }
+}
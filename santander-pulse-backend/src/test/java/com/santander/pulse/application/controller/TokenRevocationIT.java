@@ -0,0 +1,144 @@
+package com.santander.pulse.application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.santander.pulse.domain.RevokedToken;
+import com.santander.pulse.domain.User;
+import com.santander.pulse.infrastructure.JwtService;
+import com.santander.pulse.infrastructure.RevokedTokenRepository;
+import com.santander.pulse.infrastructure.TokenRevocationService;
+import com.santander.pulse.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("JWT revocation")
+class TokenRevocationIT {
+
+    private static final String CONTEXT_PATH = "/api";
+    private static final String AUTH_LOGIN_ENDPOINT = "/auth/login";
+    private static final String AUTH_LOGOUT_ENDPOINT = "/auth/logout";
+    private static final String AUTH_REFRESH_ENDPOINT = "/auth/refresh";
+    private static final String CUSTOMERS_ENDPOINT = "/customers";
+    private static final String CPF = "39053344705";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User operator = new User(CPF, "revogacao@santander.com", passwordEncoder.encode("password123"), "Operador Revogação");
+        operator.setCpf(CPF);
+        userRepository.save(operator);
+    }
+
+    @Test
+    @DisplayName("should reject access and refresh tokens after logout")
+    void shouldRejectTokensAfterLogout() throws Exception {
+        JsonNode tokens = login();
+        String accessToken = tokens.get("accessToken").asText();
+        String refreshToken = tokens.get("refreshToken").asText();
+
+        mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGOUT_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(AUTH_LOGOUT_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.createObjectNode().put("refreshToken", refreshToken).toString()))
+            .andExpect(status().isOk());
+
+        assertThat(revokedTokenRepository.existsById(jwtService.verify(accessToken).tokenId())).isTrue();
+
+        mockMvc.perform(get(CONTEXT_PATH + CUSTOMERS_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(CUSTOMERS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post(CONTEXT_PATH + AUTH_REFRESH_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(AUTH_REFRESH_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("should pick up another node's revocation on refresh and keep it across a purge")
+    void shouldSeeRevocationsFromOtherNodes() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(new RevokedToken("jti-outro-no", CPF, now.plusHours(1), now));
+        revokedTokenRepository.save(new RevokedToken("jti-expirado", CPF, now.minusMinutes(1), now.minusHours(1)));
+
+        tokenRevocationService.refresh();
+        assertThat(tokenRevocationService.isRevoked("jti-outro-no")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-nunca-revogado")).isFalse();
+
+        tokenRevocationService.purgeExpired();
+        assertThat(tokenRevocationService.isRevoked("jti-outro-no")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-expirado")).isFalse();
+        assertThat(revokedTokenRepository.existsById("jti-expirado")).isFalse();
+    }
+
+    private JsonNode login() throws Exception {
+        String payload = objectMapper.createObjectNode()
+            .put("cpf", CPF)
+            .put("password", "password123")
+            .toString();
+
+        String body = mockMvc.perform(post(CONTEXT_PATH + AUTH_LOGIN_ENDPOINT)
+                .contextPath(CONTEXT_PATH)
+                .servletPath(AUTH_LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        return objectMapper.readTree(body);
+    }
+}
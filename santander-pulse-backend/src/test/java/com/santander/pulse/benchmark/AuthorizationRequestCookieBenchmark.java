@@ -0,0 +1,104 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.infrastructure.OAuth2AuthorizationRequestCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing and reading the OAuth2 authorization-request cookie.
+ * "javaSerialization*" reproduces the previous CookieUtils format (Base64 of an
+ * ObjectOutputStream); "signedCodec*" is OAuth2AuthorizationRequestCodec. Cookie sizes of
+ * both formats are logged once per trial.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationRequestCookieBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationRequestCookieBenchmark.class);
+
+    private static final Duration TTL = Duration.ofMinutes(3);
+
+    private OAuth2AuthorizationRequestCodec codec;
+    private OAuth2AuthorizationRequest request;
+    private String javaSerializedCookie;
+    private String signedCookie;
+
+    @Setup
+    public void setUp() {
+        codec = new OAuth2AuthorizationRequestCodec("benchmark-cookie-secret");
+        request = OAuth2AuthorizationRequest.authorizationCode()
+            .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+            .clientId("123456789012-abcdefghijklmnopqrstuvwxyz012345.apps.googleusercontent.com")
+            .redirectUri("http://localhost:8080/api/login/oauth2/code/google")
+            .scopes(Set.of("openid", "profile", "email"))
+            .state("Yq2Hx0pX1mJ4c8nZ7bVqL3sT9wR5eK6uA0dF2gH4jM8=")
+            .additionalParameters(Map.of("nonce", "aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789-_aBcDe"))
+            .attributes(Map.of("registration_id", "google", "nonce", "n-0S6_WzA2Mj"))
+            .build();
+
+        javaSerializedCookie = javaSerializationWrite();
+        signedCookie = signedCodecWrite();
+        logger.info("Cookie size: java serialization {} chars, signed codec {} chars",
+            javaSerializedCookie.length(), signedCookie.length());
+    }
+
+    @Benchmark
+    public String javaSerializationWrite() {
+        return Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(request));
+    }
+
+    @Benchmark
+    public Object javaSerializationRead() throws IOException, ClassNotFoundException {
+        byte[] bytes = Base64.getUrlDecoder().decode(javaSerializedCookie);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public String signedCodecWrite() {
+        return codec.encode(request, TTL);
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest signedCodecRead() {
+        return codec.decode(signedCookie);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AuthorizationRequestCookieBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
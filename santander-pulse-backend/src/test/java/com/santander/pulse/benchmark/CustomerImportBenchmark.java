@@ -0,0 +1,115 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.SantanderPulseApplication;
+import com.santander.pulse.infrastructure.CustomerFileFormat;
+import com.santander.pulse.infrastructure.CustomerImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time for one /customers/import of a fresh NDJSON portfolio into the H2
+ * book, including validation, the duplicate checks, the batched inserts and the
+ * in-memory search indexes. The table is emptied before each iteration.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CustomerImportBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerImportService customerImportService;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] upload;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SantanderPulseApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run("--logging.level.root=WARN", "--logging.level.com.santander.pulse=WARN");
+        customerImportService = context.getBean(CustomerImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        StringBuilder ndjson = new StringBuilder(rows * 130);
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"nome\":\"Cliente Carteira ").append(i)
+                .append("\",\"cpf\":\"").append(cpf(i))
+                .append("\",\"email\":\"carteira").append(i)
+                .append("@parceiro.com\",\"telefone\":\"11999990000\"}\n");
+        }
+        upload = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyBook() {
+        jdbcTemplate.update("DELETE FROM customers");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long importPortfolio() throws IOException {
+        return customerImportService.importCustomers(new ByteArrayInputStream(upload), CustomerFileFormat.NDJSON)
+            .imported();
+    }
+
+    /**
+     * A CPF with valid check digits built from a 9-digit base
+     */
+    private static String cpf(int seed) {
+        String base = String.format("%09d", 100_000_000 + seed);
+        int first = checkDigit(base, 10);
+        int second = checkDigit(base + first, 11);
+        return base + first + second;
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int digit = 11 - (sum % 11);
+        return digit >= 10 ? 0 : digit;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CustomerImportBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.SantanderPulseApplication;
+import com.santander.pulse.application.dto.CustomerListItem;
+import com.santander.pulse.application.dto.CustomerResponse;
+import com.santander.pulse.domain.Customer;
+import com.santander.pulse.infrastructure.CustomerFilter;
+import com.santander.pulse.infrastructure.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the default /customers listing (active customers by nome), read the old way
+ * ("entities": managed Customer entities copied into CustomerResponse) and through the
+ * CustomerListItem projection. Each invocation opens and closes its own EntityManager, as
+ * a request does. The number to compare is gc.alloc.rate.norm (bytes per page), which the
+ * main method reports through the GC profiler; pass -prof gc to org.openjdk.jmh.Main.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CustomerListingAllocationBenchmark {
+
+    private static final int CUSTOMERS = 5_000;
+
+    private static final String ENTITY_PAGE =
+        "SELECT c FROM Customer c WHERE c.status = :status ORDER BY c.status, c.nome, c.id";
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private CustomerRepository customerRepository;
+    private CustomerFilter filter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SantanderPulseApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run("--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 1; i <= CUSTOMERS; i++) {
+            customers.add(new Customer(
+                "Cliente " + Integer.toString(i * 7919 % CUSTOMERS, 36) + " Silva",
+                String.format("%011d", 60_000_000_000L + i),
+                "cliente" + i + "@benchmark.com",
+                "11999990000"));
+        }
+        customerRepository.saveAll(customers);
+        filter = CustomerFilter.of(null, null, Customer.CustomerStatus.ATIVO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponse> entities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(ENTITY_PAGE, Customer.class)
+                .setParameter("status", Customer.CustomerStatus.ATIVO)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(CustomerResponse::fromEntity)
+                .toList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<CustomerListItem> projection() {
+        return customerRepository.findSliceByFilter(filter, PageRequest.of(0, pageSize, Sort.by("nome")))
+            .getContent();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CustomerListingAllocationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,165 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.infrastructure.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of an active-customer substring search on nome, as the listing runs it:
+ * "likeScan" is the current LOWER(nome) LIKE '%term%' query, "trigramSearch" is the index
+ * lookup alone and "trigramSearchAndFetch" adds the id-restricted page query. Names are
+ * random syllables, so the term (one surname) matches roughly one row in 8,000.
+ *
+ * The 10M case needs about 8 GB of heap for the in-memory H2 table plus the index, e.g.
+ * -p rows=10000000 -jvmArgs -Xmx10g. Run the main method from the IDE, or
+ * org.openjdk.jmh.Main on the test classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CustomerSubstringSearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "ba", "be", "ca", "co", "da", "de", "fa", "fe", "ga", "go",
+        "la", "li", "ma", "mo", "na", "ne", "ra", "ri", "sa", "to"
+    };
+
+    private static final String LIKE_PAGE =
+        "SELECT id, nome, email FROM customers WHERE status = 'ATIVO' " +
+        "AND LOWER(nome) LIKE LOWER(CONCAT('%', ?, '%')) ORDER BY nome, id LIMIT 10";
+
+    private static final String ID_PAGE =
+        "SELECT id, nome, email FROM customers WHERE status = 'ATIVO' " +
+        "AND LOWER(nome) LIKE LOWER(CONCAT('%', ?, '%')) AND id = ANY(?) ORDER BY nome, id LIMIT 10";
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement idPage;
+    private TrigramIndex nomeIndex;
+    private String term;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE customers (id BIGINT PRIMARY KEY, nome VARCHAR(100) NOT NULL, " +
+                "email VARCHAR(100) NOT NULL, status VARCHAR(16) NOT NULL)");
+            ddl.execute("CREATE INDEX idx_customer_nome_id ON customers (nome, id)");
+            ddl.execute("CREATE INDEX idx_customer_status ON customers (status)");
+        }
+
+        nomeIndex = new TrigramIndex();
+        Random random = new Random(7);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customers VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                String first = word(random, 2 + random.nextInt(2));
+                String last = word(random, 3);
+                String nome = capitalize(first) + " " + capitalize(last);
+                if (id == rows / 2) {
+                    term = last;
+                }
+                insert.setLong(1, id);
+                insert.setString(2, nome);
+                insert.setString(3, first + "." + last + id + "@cliente.com");
+                insert.setString(4, id % 10 == 0 ? "INATIVO" : "ATIVO");
+                insert.addBatch();
+                nomeIndex.put(id, nome);
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        likePage = connection.prepareStatement(LIKE_PAGE);
+        idPage = connection.prepareStatement(ID_PAGE);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int likeScan() throws SQLException {
+        likePage.setString(1, term);
+        return consume(likePage);
+    }
+
+    @Benchmark
+    public long[] trigramSearch() {
+        return nomeIndex.search(term);
+    }
+
+    @Benchmark
+    public int trigramSearchAndFetch() throws SQLException {
+        long[] ids = nomeIndex.search(term);
+        idPage.setString(1, term);
+        idPage.setObject(2, Arrays.stream(ids).boxed().toArray(Long[]::new));
+        return consume(idPage);
+    }
+
+    private static int consume(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet page = statement.executeQuery()) {
+            while (page.next()) {
+                count += page.getString(2).length();
+            }
+        }
+        return count;
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CustomerSubstringSearchBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.infrastructure.CustomerSuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one /customers/suggest lookup for the top 10 matches, as an operator types a
+ * surname ("keystroke" walks its prefixes), a CPF prefix, and a rename arriving from the
+ * entity listener.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class CustomerSuggestionBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "ba", "be", "ca", "co", "da", "de", "fa", "fe", "ga", "go",
+        "la", "li", "ma", "mo", "na", "ne", "ra", "ri", "sa", "to"
+    };
+
+    @Param({"1000000"})
+    public int customers;
+
+    private CustomerSuggestionIndex index;
+    private String[] prefixes;
+    private int keystroke;
+    private long updates;
+
+    @Setup
+    public void setUp() {
+        index = new CustomerSuggestionIndex(null);
+        Random random = new Random(11);
+        String surname = null;
+        for (int id = 1; id <= customers; id++) {
+            String first = word(random, 2 + random.nextInt(2));
+            String last = word(random, 3);
+            if (id == customers / 2) {
+                surname = last;
+            }
+            index.put(id, first + " " + last, String.format("%011d", 10_000_000_000L + id * 7L),
+                first + "." + last + id + "@cliente.com", true);
+        }
+        prefixes = new String[surname.length()];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = surname.substring(0, i + 1);
+        }
+    }
+
+    @Benchmark
+    public List<CustomerSuggestionIndex.Suggestion> keystroke() {
+        keystroke = (keystroke + 1) % prefixes.length;
+        return index.suggest(prefixes[keystroke], 10);
+    }
+
+    @Benchmark
+    public List<CustomerSuggestionIndex.Suggestion> cpfPrefix() {
+        return index.suggest("100.000.3", 10);
+    }
+
+    @Benchmark
+    public void rename() {
+        long id = 1 + (updates++ % customers);
+        index.put(id, "Renomeado " + id, "99999999999", "renomeado" + id + "@cliente.com", true);
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CustomerSuggestionBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.infrastructure.JwtService;
+import com.santander.pulse.infrastructure.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification in JwtRequestFilter.
+ * "legacyFilterPath" reproduces the previous behaviour (key and parser rebuilt on every
+ * parse, three parses per request); "singlePassVerification" is the current path.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+        "U2FudGFuZGVyUHVsc2VTZWNyZXRLZXkyMDI1VmVyeVNlY3VyZUFuZEF1dGhlbnRpY0tleUZvckJhbmtpbmdTeXN0ZW0=";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 7_200_000L);
+        userDetails = User.withUsername("11122233344").password("n/a").roles("ADMIN").build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(userDetails.getUsername());
+        boolean notExpired = !legacyClaims(token).getExpiration().before(new Date());
+        return username != null && sameUser && notExpired;
+    }
+
+    @Benchmark
+    public boolean singlePassVerification() {
+        VerifiedToken verified = jwtService.verify(token);
+        return jwtService.isTokenValid(verified, userDetails);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build()
+            .parseClaimsJws(jwt)
+            .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JwtVerificationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.santander.pulse.benchmark;
+
+import com.santander.pulse.infrastructure.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the login throttle's token bucket, to compare against a BCrypt verification
+ * (hundreds of milliseconds). "grantedHotKey" always passes, "rejectedHotKey" always hits an
+ * empty bucket, "spreadKeys" touches many buckets and "contendedHotKey" CASes one bucket from
+ * four threads.
+ *
+ * Run the main method from the IDE, or org.openjdk.jmh.Main on the test classpath
+ * after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginThrottleBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private TokenBucketLimiter generous;
+    private TokenBucketLimiter exhausted;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        generous = new TokenBucketLimiter(Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE), 100_000);
+        exhausted = new TokenBucketLimiter(1, Duration.ofHours(1), 100_000);
+        exhausted.tryAcquire("11122233344");
+
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = String.format("%011d", 10_000_000_000L + i);
+        }
+    }
+
+    @Benchmark
+    public long grantedHotKey() {
+        return generous.tryAcquire("11122233344");
+    }
+
+    @Benchmark
+    public long rejectedHotKey() {
+        return exhausted.tryAcquire("11122233344");
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return generous.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long contendedHotKey() {
+        return generous.tryAcquire("11122233344");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(LoginThrottleBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
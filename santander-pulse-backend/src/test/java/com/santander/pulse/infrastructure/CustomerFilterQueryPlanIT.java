@@ -0,0 +1,185 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.Customer;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "com.santander.pulse.infrastructure.CustomerFilterQueryPlanIT$RecordingInspector")
+@ActiveProfiles("test")
+@DisplayName("Customer filter query plans")
+class CustomerFilterQueryPlanIT {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RecordingInspector.statements.clear();
+    }
+
+    @Test
+    @DisplayName("should emit only the status predicate and plan it on idx_customer_status")
+    void statusOnlyFilterShouldUseStatusIndex() {
+        CustomerFilter filter = CustomerFilter.of(null, null, Customer.CustomerStatus.INATIVO);
+
+        // H2 names the index it scans even for "(? IS NULL OR status = ?)", so require a lookup condition
+        customerRepository.countByFilter(filter);
+        String countSql = lastCustomerQuery();
+        assertThat(countSql).doesNotContainIgnoringCase("is null");
+        assertThat(explain(countSql)).containsIgnoringCase("IDX_CUSTOMER_STATUS: STATUS =");
+
+        customerRepository.findSliceByFilter(filter, PageRequest.of(0, 10, Sort.by("id")));
+        String pageSql = lastCustomerQuery();
+        assertThat(pageSql).doesNotContainIgnoringCase("is null");
+        assertThat(explain(pageSql)).containsIgnoringCase("IDX_CUSTOMER_STATUS: STATUS =");
+    }
+
+    @Test
+    @DisplayName("should read every offset listing shape in index order")
+    void offsetListingsShouldNotSort() {
+        List<CustomerFilter> filters = List.of(
+            CustomerFilter.of(null, null, Customer.CustomerStatus.ATIVO),
+            CustomerFilter.of("%ana%", null, Customer.CustomerStatus.ATIVO),
+            CustomerFilter.of("ana%", "ana%", Customer.CustomerStatus.ATIVO));
+
+        // Index-path listings add "id IN (...)", at most max-candidates rows, and are left out
+        for (CustomerFilter filter : filters) {
+            for (String sortBy : CustomerFilter.SORT_KEYS) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    customerRepository.findSliceByFilter(filter, PageRequest.of(0, 10, direction, sortBy));
+                    assertIndexSorted(lastCustomerQuery(), filter);
+                    customerRepository.findByFilter(filter, PageRequest.of(3, 10, direction, sortBy));
+                    assertIndexSorted(lastOrderedQuery(), filter);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should read every keyset listing shape in index order")
+    void keysetListingsShouldNotSort() {
+        CustomerFilter filter = CustomerFilter.of(null, null, Customer.CustomerStatus.ATIVO);
+        for (String sortBy : CustomerCursor.SORT_FIELDS) {
+            for (boolean descending : new boolean[] {false, true}) {
+                customerRepository.findByFilterAfter(filter, CustomerCursor.first(sortBy, descending), 10);
+                assertIndexSorted(lastCustomerQuery(), filter);
+                CustomerCursor next = new CustomerCursor(sortBy, descending, "Maria", 10L);
+                customerRepository.findByFilterAfter(filter, next, 10);
+                assertIndexSorted(lastCustomerQuery(), filter);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should read recent customers in index order")
+    void recentCustomersShouldNotSort() {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        customerRepository.findRecentCustomers(since);
+
+        String sql = lastCustomerQuery();
+        assertThat(explain(sql, since)).as(sql).contains("/* index sorted */");
+    }
+
+    @Test
+    @DisplayName("should reject sort keys without a supporting index")
+    void shouldRejectUnsupportedSortKeys() {
+        CustomerFilter filter = CustomerFilter.of(null, null, Customer.CustomerStatus.ATIVO);
+
+        assertThatThrownBy(() -> customerRepository.findSliceByFilter(filter, PageRequest.of(0, 10, Sort.by("telefone"))))
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should build each predicate combination once")
+    void shouldCacheShapesBySignature() {
+        CustomerFilterCompiler compiler = new CustomerFilterCompiler();
+
+        String first = compiler.count(CustomerFilter.of("%ana%", null, Customer.CustomerStatus.ATIVO));
+        String second = compiler.count(CustomerFilter.of("%bruno%", null, Customer.CustomerStatus.INATIVO));
+        String other = compiler.count(CustomerFilter.of(null, "%@cliente%", null));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isEqualTo("SELECT COUNT(c) FROM Customer c WHERE c.status = :status AND c.nomeSearch LIKE :nome");
+        assertThat(other).isEqualTo("SELECT COUNT(c) FROM Customer c WHERE c.emailSearch LIKE :email");
+        assertThat(compiler.cachedShapes()).isEqualTo(2);
+    }
+
+    private String lastCustomerQuery() {
+        List<String> selects = RecordingInspector.statements.stream()
+            .filter(sql -> sql.startsWith("select") && sql.contains("customers"))
+            .toList();
+        assertThat(selects).isNotEmpty();
+        return selects.get(selects.size() - 1);
+    }
+
+    private String lastOrderedQuery() {
+        List<String> ordered = RecordingInspector.statements.stream()
+            .filter(sql -> sql.startsWith("select") && sql.contains(" order by "))
+            .toList();
+        assertThat(ordered).isNotEmpty();
+        return ordered.get(ordered.size() - 1);
+    }
+
+    /**
+     * H2 marks a plan "index sorted" only when it can skip the sort entirely; a partial
+     * match reads "index sorted: 1 of 3 columns" and still sorts
+     */
+    private void assertIndexSorted(String sql, CustomerFilter filter) {
+        List<Object> values = new ArrayList<>(List.of(filter.status().name()));
+        if (filter.nomePattern() != null) {
+            values.add(filter.nomePattern());
+        }
+        if (filter.emailPattern() != null) {
+            values.add(filter.emailPattern());
+        }
+        assertThat(explain(sql, values.toArray())).as(sql).contains("/* index sorted */");
+    }
+
+    private String explain(String sql) {
+        return explain(sql, Customer.CustomerStatus.INATIVO.name());
+    }
+
+    /**
+     * Bind the leading values first and 10 for the rest (keys, row limits), in statement order
+     */
+    private String explain(String sql, Object... leading) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] values = new Object[parameters];
+        for (int i = 0; i < parameters; i++) {
+            values[i] = i < leading.length ? leading[i] : 10;
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, values);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
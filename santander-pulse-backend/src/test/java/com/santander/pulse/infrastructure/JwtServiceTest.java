@@ -0,0 +1,72 @@
+package com.santander.pulse.infrastructure;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JWT single-pass verification")
+class JwtServiceTest {
+
+    private static final String SECRET =
+        "U2FudGFuZGVyUHVsc2VTZWNyZXRLZXkyMDI1VmVyeVNlY3VyZUFuZEF1dGhlbnRpY0tleUZvckJhbmtpbmdTeXN0ZW0=";
+    private static final String OTHER_SECRET =
+        "T3V0cm9TZWdyZWRvUGFyYVRlc3RhckFzc2luYXR1cmFJbnZhbGlkYURvVG9rZW5KV1REb1NhbnRhbmRlclB1bHNl";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 7_200_000L);
+        userDetails = User.withUsername("12345678901").password("n/a").roles("USER").build();
+    }
+
+    @Test
+    @DisplayName("should expose subject and expiry from a single verification")
+    void shouldVerifyTokenOnce() {
+        String token = jwtService.generateToken(userDetails);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("12345678901");
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(verified.issuedAt()).isBeforeOrEqualTo(Instant.now());
+        assertThat(jwtService.isTokenValid(verified, userDetails)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject a token verified for a different user")
+    void shouldRejectSubjectMismatch() {
+        String token = jwtService.generateToken(userDetails);
+        UserDetails otherUser = User.withUsername("99988877766").password("n/a").roles("USER").build();
+
+        assertThat(jwtService.isTokenValid(jwtService.verify(token), otherUser)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject tokens signed with another key")
+    void shouldRejectForeignSignature() {
+        String foreignToken = new JwtService(OTHER_SECRET, 3_600_000L, 7_200_000L).generateToken(userDetails);
+
+        assertThatThrownBy(() -> jwtService.verify(foreignToken))
+            .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("should reject expired tokens")
+    void shouldRejectExpiredToken() {
+        String expiredToken = new JwtService(SECRET, -1_000L, -1_000L).generateToken(userDetails);
+
+        assertThatThrownBy(() -> jwtService.verify(expiredToken))
+            .isInstanceOf(ExpiredJwtException.class);
+    }
+}
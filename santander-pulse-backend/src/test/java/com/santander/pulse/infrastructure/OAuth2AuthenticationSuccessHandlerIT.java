@@ -0,0 +1,90 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("OAuth2 sign-in provisioning")
+class OAuth2AuthenticationSuccessHandlerIT {
+
+    private static final String EMAIL = "ana.google@gmail.com";
+
+    @Autowired
+    private OAuth2AuthenticationSuccessHandler successHandler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should provision a passwordless account without hashing")
+    void shouldProvisionPasswordlessAccount() throws Exception {
+        double encodes = passwordEncodes();
+
+        MockHttpServletResponse response = signIn("Ana Souza");
+
+        assertThat(response.getRedirectedUrl()).contains("accessToken=");
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        assertThat(user.getAuthProvider()).isEqualTo(User.AuthProvider.GOOGLE);
+        assertThat(user.getExternalSubject()).isEqualTo("google-sub-1");
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getFullName()).isEqualTo("Ana Souza");
+        assertThat(passwordEncodes()).isEqualTo(encodes);
+    }
+
+    @Test
+    @DisplayName("should rename the existing account instead of creating another")
+    void shouldRenameExistingAccount() throws Exception {
+        signIn("Ana Souza");
+        Long id = userRepository.findByEmail(EMAIL).orElseThrow().getId();
+
+        MockHttpServletResponse response = signIn("Ana Maria Souza");
+
+        assertThat(response.getRedirectedUrl()).contains("accessToken=");
+        assertThat(userRepository.count()).isEqualTo(1);
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        assertThat(user.getId()).isEqualTo(id);
+        assertThat(user.getFullName()).isEqualTo("Ana Maria Souza");
+    }
+
+    private MockHttpServletResponse signIn(String name) throws Exception {
+        DefaultOAuth2User principal = new DefaultOAuth2User(
+            AuthorityUtils.createAuthorityList("ROLE_USER"),
+            Map.of("sub", "google-sub-1", "email", EMAIL, "name", name),
+            "sub"
+        );
+        OAuth2AuthenticationToken authentication =
+            new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "google");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        successHandler.onAuthenticationSuccess(new MockHttpServletRequest(), response, authentication);
+        return response;
+    }
+
+    private double passwordEncodes() {
+        return meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count();
+    }
+}
@@ -0,0 +1,99 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OAuth2 authorization request cookie codec")
+class OAuth2AuthorizationRequestCodecTest {
+
+    private static final String SECRET = "test-cookie-secret";
+    private static final Instant NOW = Instant.parse("2025-01-15T12:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(3);
+
+    private final OAuth2AuthorizationRequestCodec codec =
+        new OAuth2AuthorizationRequestCodec(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("should round-trip every field the callback relies on")
+    void shouldRoundTrip() {
+        OAuth2AuthorizationRequest original = googleRequest();
+
+        OAuth2AuthorizationRequest decoded = codec.decode(codec.encode(original, TTL));
+
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getAuthorizationUri()).isEqualTo(original.getAuthorizationUri());
+        assertThat(decoded.getClientId()).isEqualTo(original.getClientId());
+        assertThat(decoded.getRedirectUri()).isEqualTo(original.getRedirectUri());
+        assertThat(decoded.getState()).isEqualTo(original.getState());
+        assertThat(decoded.getScopes()).isEqualTo(original.getScopes());
+        assertThat(decoded.getAdditionalParameters()).isEqualTo(original.getAdditionalParameters());
+        assertThat(decoded.getAttributes()).isEqualTo(original.getAttributes());
+        assertThat(decoded.getAuthorizationRequestUri()).isEqualTo(original.getAuthorizationRequestUri());
+    }
+
+    @Test
+    @DisplayName("should be much smaller than the Java-serialized cookie")
+    void shouldBeSmallerThanJavaSerialization() {
+        OAuth2AuthorizationRequest request = googleRequest();
+
+        String compact = codec.encode(request, TTL);
+        String legacy = Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(request));
+
+        assertThat(compact.length()).isLessThan(legacy.length() / 2);
+    }
+
+    @Test
+    @DisplayName("should reject a tampered payload")
+    void shouldRejectTamperedPayload() {
+        String encoded = codec.encode(googleRequest(), TTL);
+        char flipped = encoded.charAt(5) == 'A' ? 'B' : 'A';
+        String tampered = encoded.substring(0, 5) + flipped + encoded.substring(6);
+
+        assertThat(codec.decode(tampered)).isNull();
+    }
+
+    @Test
+    @DisplayName("should reject cookies signed with another key")
+    void shouldRejectForeignSignature() {
+        OAuth2AuthorizationRequestCodec other =
+            new OAuth2AuthorizationRequestCodec("another-secret", Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(codec.decode(other.encode(googleRequest(), TTL))).isNull();
+    }
+
+    @Test
+    @DisplayName("should reject expired and malformed cookies")
+    void shouldRejectExpiredAndMalformed() {
+        String encoded = codec.encode(googleRequest(), TTL);
+        OAuth2AuthorizationRequestCodec later =
+            new OAuth2AuthorizationRequestCodec(SECRET, Clock.fixed(NOW.plus(TTL).plusSeconds(1), ZoneOffset.UTC));
+
+        assertThat(later.decode(encoded)).isNull();
+        assertThat(codec.decode("not-a-cookie")).isNull();
+        assertThat(codec.decode("%%%.%%%")).isNull();
+    }
+
+    static OAuth2AuthorizationRequest googleRequest() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+            .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+            .clientId("123456789012-abcdefghijklmnopqrstuvwxyz012345.apps.googleusercontent.com")
+            .redirectUri("http://localhost:8080/api/login/oauth2/code/google")
+            .scopes(Set.of("openid", "profile", "email"))
+            .state("Yq2Hx0pX1mJ4c8nZ7bVqL3sT9wR5eK6uA0dF2gH4jM8=")
+            .additionalParameters(Map.of("nonce", "aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789-_aBcDe"))
+            .attributes(Map.of("registration_id", "google", "nonce", "n-0S6_WzA2Mj"))
+            .build();
+    }
+}
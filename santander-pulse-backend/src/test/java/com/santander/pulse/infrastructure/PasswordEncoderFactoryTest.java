@@ -0,0 +1,69 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Password encoder factory")
+class PasswordEncoderFactoryTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Test
+    @DisplayName("should record algorithm and cost in new hashes")
+    void shouldPrefixNewHashes() {
+        PasswordEncoder encoder = factory("bcrypt", 5).create();
+
+        String hash = encoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should verify and flag unprefixed legacy BCrypt hashes")
+    void shouldUpgradeLegacyHashes() {
+        PasswordEncoder encoder = factory("bcrypt", 5).create();
+        String legacy = new BCryptPasswordEncoder(5).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should flag hashes below the configured cost or under another algorithm")
+    void shouldUpgradeWeakerHashes() {
+        String weaker = factory("bcrypt", 4).create().encode(PASSWORD);
+        String pbkdf2 = factory("pbkdf2", 5).create().encode(PASSWORD);
+        PasswordEncoder encoder = factory("bcrypt", 5).create();
+
+        assertThat(encoder.matches(PASSWORD, weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.matches(PASSWORD, pbkdf2)).isTrue();
+        assertThat(encoder.upgradeEncoding(pbkdf2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should calibrate within the configured bounds")
+    void shouldCalibrateWithinBounds() {
+        assertThat(PasswordEncoderFactory.calibrateBcryptStrength(Duration.ZERO, 4, 8)).isEqualTo(4);
+        assertThat(PasswordEncoderFactory.calibrateBcryptStrength(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("should reject unknown algorithms")
+    void shouldRejectUnknownAlgorithm() {
+        assertThatThrownBy(() -> factory("md5", 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PasswordEncoderFactory factory(String algorithm, int strength) {
+        return new PasswordEncoderFactory(algorithm, strength, Duration.ofMillis(250), 10, 16);
+    }
+}
@@ -0,0 +1,28 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Search text normalization")
+class SearchTextTest {
+
+    @Test
+    @DisplayName("should fold case, diacritics and whitespace")
+    void shouldNormalize() {
+        assertThat(SearchText.normalize("  Jo\u00e3o   da\tSILVA ")).isEqualTo("joao da silva");
+        assertThat(SearchText.normalize("Concei\u00e7\u00e3o Ara\u00fajo")).isEqualTo("conceicao araujo");
+        // Already decomposed input folds the same way as precomposed input
+        assertThat(SearchText.normalize("Joa\u0303o")).isEqualTo("joao");
+        assertThat(SearchText.normalize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should build contains and prefix LIKE patterns from raw terms")
+    void shouldBuildPatterns() {
+        assertThat(SearchText.containsPattern("Jo\u00c3O")).isEqualTo("%joao%");
+        assertThat(SearchText.prefixPattern("Jo\u00c3O ")).isEqualTo("joao%");
+        assertThat(SearchText.containsPattern(null)).isNull();
+    }
+}
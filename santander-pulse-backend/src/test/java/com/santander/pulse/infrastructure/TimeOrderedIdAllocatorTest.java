@@ -0,0 +1,129 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Time-ordered id allocator")
+class TimeOrderedIdAllocatorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    @DisplayName("should lay out millis, node and sequence and stay below 2^53")
+    void shouldEncodeTimeNodeAndSequence() {
+        TimeOrderedIdAllocator allocator = new TimeOrderedIdAllocator(5, fixedClock(new AtomicLong(NOW)));
+
+        long first = allocator.nextId();
+        long second = allocator.nextId();
+
+        assertThat(first >>> 12).isEqualTo(NOW - TimeOrderedIdAllocator.EPOCH_MILLIS);
+        assertThat(first >>> 7 & TimeOrderedIdAllocator.MAX_NODE_ID).isEqualTo(5);
+        assertThat(first & 127).isZero();
+        assertThat(second).isEqualTo(first + 1);
+        // 41 bits of milliseconds last until 2094
+        long lastMillis = TimeOrderedIdAllocator.EPOCH_MILLIS + (1L << 41) - 1;
+        assertThat(new TimeOrderedIdAllocator(31, fixedClock(new AtomicLong(lastMillis))).nextId())
+            .isLessThan(1L << 53);
+    }
+
+    @Test
+    @DisplayName("should wait for the clock instead of borrowing future milliseconds")
+    void shouldNotRunAheadOfClock() throws Exception {
+        AtomicLong millis = new AtomicLong(NOW);
+        TimeOrderedIdAllocator allocator = new TimeOrderedIdAllocator(0, fixedClock(millis));
+
+        long previous = 0;
+        for (int i = 0; i < 128; i++) {
+            long id = allocator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        // The sequence for NOW is used up, so the next id waits for the clock to move on
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> next = executor.submit(allocator::nextId);
+            assertThatThrownBy(() -> next.get(50, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            millis.set(NOW + 1);
+            assertThat(next.get(5, TimeUnit.SECONDS)).isGreaterThan(previous);
+            assertThat(next.get() >>> 12).isEqualTo(NOW + 1 - TimeOrderedIdAllocator.EPOCH_MILLIS);
+
+            // A clock that steps back is waited out too, so ids keep growing
+            millis.set(NOW - 5_000);
+            Future<Long> afterStepBack = executor.submit(allocator::nextId);
+            assertThatThrownBy(() -> afterStepBack.get(50, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            millis.set(NOW + 2);
+            assertThat(afterStepBack.get(5, TimeUnit.SECONDS)).isGreaterThan(next.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should never hand out an id twice across threads or nodes")
+    void shouldNotCollide() throws InterruptedException {
+        TimeOrderedIdAllocator nodeA = new TimeOrderedIdAllocator(1);
+        TimeOrderedIdAllocator nodeB = new TimeOrderedIdAllocator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            TimeOrderedIdAllocator allocator = t % 2 == 0 ? nodeA : nodeB;
+            executor.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(allocator.nextId());
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    @DisplayName("should reject node ids that do not fit")
+    void shouldRejectNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new TimeOrderedIdAllocator(32))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedIdAllocator(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Clock fixedClock(AtomicLong millis) {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+    }
+}
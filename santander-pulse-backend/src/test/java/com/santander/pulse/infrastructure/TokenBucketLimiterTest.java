@@ -0,0 +1,79 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Token bucket limiter")
+class TokenBucketLimiterTest {
+
+    @Test
+    @DisplayName("should allow a burst up to capacity and then report the wait")
+    void shouldAllowBurstThenReject() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofMinutes(1), 100);
+
+        assertThat(limiter.tryAcquire("12345678901")).isZero();
+        assertThat(limiter.tryAcquire("12345678901")).isZero();
+        assertThat(limiter.tryAcquire("12345678901")).isZero();
+
+        long wait = limiter.tryAcquire("12345678901");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20).toNanos());
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per key")
+    void shouldIsolateKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 100);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    @DisplayName("should refill over time")
+    void shouldRefill() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofMillis(100), 100);
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        assertThat(limiter.tryAcquire("key")).isPositive();
+
+        Thread.sleep(120);
+
+        assertThat(limiter.tryAcquire("key")).isZero();
+    }
+
+    @Test
+    @DisplayName("should grant exactly the capacity under contention")
+    void shouldGrantExactlyCapacityUnderContention() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(50, Duration.ofHours(1), 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int thread = 0; thread < 8; thread++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(50);
+    }
+}
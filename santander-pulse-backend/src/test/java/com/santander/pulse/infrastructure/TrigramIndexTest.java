@@ -0,0 +1,109 @@
+package com.santander.pulse.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Trigram index")
+class TrigramIndexTest {
+
+    @Test
+    @DisplayName("should find substrings ignoring case")
+    void shouldFindSubstrings() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Maria Silva");
+        index.put(2, "Mariana Souza");
+        index.put(3, "Joao Silveira");
+
+        assertThat(index.search("MARI")).containsExactly(1, 2);
+        assertThat(index.search("silv")).containsExactly(1, 3);
+        assertThat(index.search("ana sou")).containsExactly(2);
+        assertThat(index.search("xyz")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not report ids whose trigrams match out of order")
+    void shouldVerifyCandidates() {
+        TrigramIndex index = new TrigramIndex();
+        // Holds every trigram of "abcabc" ("abc", "bca", "cab") but not the string itself
+        index.put(1, "abcab cabca");
+
+        assertThat(index.search("abcabc")).isEmpty();
+        assertThat(index.search("cabca")).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("should follow updates and removals")
+    void shouldFollowUpdates() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(7, "Carlos Pereira");
+        index.put(7, "Carla Pereira");
+        index.put(3, "Carlos Lima");
+
+        assertThat(index.search("carlos")).containsExactly(3);
+        assertThat(index.search("carla")).containsExactly(7);
+
+        index.remove(3);
+        assertThat(index.search("carlos")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should refuse terms that are too short or carry LIKE wildcards")
+    void shouldRejectUnsearchableTerms() {
+        assertThat(TrigramIndex.isSearchable("ab")).isFalse();
+        assertThat(TrigramIndex.isSearchable("a%b")).isFalse();
+        assertThat(TrigramIndex.isSearchable("a_bc")).isFalse();
+        assertThat(TrigramIndex.isSearchable(null)).isFalse();
+        assertThat(TrigramIndex.isSearchable("abc")).isTrue();
+
+        assertThatThrownBy(() -> new TrigramIndex().search("ab"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should agree with a linear contains scan")
+    void shouldMatchLinearScan() {
+        Random random = new Random(42);
+        String[] texts = new String[2000];
+        TrigramIndex index = new TrigramIndex();
+        // Insert out of id order to exercise posting-list inserts as well as appends
+        for (int i = texts.length - 1; i >= 0; i--) {
+            texts[i] = randomText(random);
+            index.put(i, texts[i]);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            String source = texts[random.nextInt(texts.length)];
+            int start = random.nextInt(source.length() - 3);
+            String term = source.substring(start, start + 3 + random.nextInt(Math.min(4, source.length() - start - 2)));
+
+            long[] expected = LongStream.range(0, texts.length)
+                .filter(id -> texts[(int) id].toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT)))
+                .toArray();
+            assertThat(index.search(term)).as(term).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("should intersect ascending id arrays")
+    void shouldIntersect() {
+        assertThat(TrigramIndex.intersect(new long[]{1, 3, 5, 9}, new long[]{2, 3, 9, 10})).containsExactly(3, 9);
+        assertThat(TrigramIndex.intersect(new long[]{}, new long[]{1})).isEmpty();
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        int length = 6 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            text.append("abcdeABC ".charAt(random.nextInt(9)));
+        }
+        return text.toString();
+    }
+}
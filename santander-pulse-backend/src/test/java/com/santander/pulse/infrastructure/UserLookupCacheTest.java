@@ -0,0 +1,87 @@
+package com.santander.pulse.infrastructure;
+
+import com.santander.pulse.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("User lookup cache")
+class UserLookupCacheTest {
+
+    private static final List<UserLookupCache.Key> LOGIN_KEYS =
+        List.of(UserLookupCache.Key.CPF, UserLookupCache.Key.USERNAME);
+    private static final List<UserLookupCache.Key> EMAIL_KEYS = List.of(UserLookupCache.Key.EMAIL);
+
+    private UserLookupCache cache;
+    private AtomicInteger loads;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserLookupCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        loads = new AtomicInteger();
+        user = new User("12345678901", "user@santander.com", "hash", "Usuário Teste");
+        user.setId(42L);
+        user.setCpf("12345678901");
+    }
+
+    @Test
+    @DisplayName("should warm CPF, username and email keys from one load")
+    void shouldWarmAllKeysFromOneLoad() {
+        cache.find(LOGIN_KEYS, "12345678901", this::load);
+
+        Optional<User> byEmail = cache.find(EMAIL_KEYS, "user@santander.com", this::load);
+
+        assertThat(byEmail).containsSame(user);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should remember missing users for the negative TTL")
+    void shouldCacheNegativeLookups() {
+        cache.find(LOGIN_KEYS, "00000000000", this::loadNothing);
+        Optional<User> second = cache.find(LOGIN_KEYS, "00000000000", this::loadNothing);
+
+        assertThat(second).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should reload after the user is invalidated")
+    void shouldReloadAfterInvalidation() {
+        cache.find(LOGIN_KEYS, "12345678901", this::load);
+
+        cache.invalidate(user);
+        cache.find(LOGIN_KEYS, "12345678901", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should clear a negative entry once the user is created")
+    void shouldClearNegativeEntryOnCreate() {
+        cache.find(EMAIL_KEYS, "user@santander.com", this::loadNothing);
+
+        cache.invalidate(user);
+
+        assertThat(cache.find(EMAIL_KEYS, "user@santander.com", this::load)).containsSame(user);
+    }
+
+    private Optional<User> load() {
+        loads.incrementAndGet();
+        return Optional.of(user);
+    }
+
+    private Optional<User> loadNothing() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,64 @@
+package com.santander.pulse.infrastructure;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Verified JWT cache")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET =
+        "U2FudGFuZGVyUHVsc2VTZWNyZXRLZXkyMDI1VmVyeVNlY3VyZUFuZEF1dGhlbnRpY0tleUZvckJhbmtpbmdTeXN0ZW0=";
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 7_200_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtService, meterRegistry, 100, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("should serve repeated tokens from cache and record hits and misses")
+    void shouldCacheVerifiedTokens() {
+        String token = jwtService.generateToken(User.withUsername("12345678901").password("n/a").roles("USER").build());
+
+        VerifiedToken first = cache.resolve(token);
+        VerifiedToken second = cache.resolve(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should verify again after invalidation")
+    void shouldVerifyAgainAfterInvalidation() {
+        String token = jwtService.generateToken(User.withUsername("12345678901").password("n/a").roles("USER").build());
+
+        VerifiedToken first = cache.resolve(token);
+        cache.invalidate(token);
+
+        assertThat(cache.resolve(token)).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("should never cache tokens that fail verification")
+    void shouldNotCacheInvalidTokens() {
+        assertThatThrownBy(() -> cache.resolve("not-a-jwt")).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> cache.resolve("not-a-jwt")).isInstanceOf(MalformedJwtException.class);
+    }
+}